@@ -0,0 +1,186 @@
+package com.springboot.controller_advice.circuit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Circuit breaker for one endpoint, driven by the outcomes of its requests.
+ *
+ * While {@link State#CLOSED}, every request is admitted and its outcome is
+ * counted in a fixed time window. Once the window holds at least
+ * {@code minimumCalls} requests and the share of failures reaches
+ * {@code failureRateThreshold}, the breaker opens and rejects every request
+ * for {@code openDuration}. The first request after that is admitted as a
+ * probe while all others are still rejected: if the probe succeeds, the
+ * breaker closes with an empty window; if it fails, the breaker opens again.
+ * A probe that has not reported its outcome within {@code openDuration} (an
+ * aborted or abandoned request) is given up on, and the next request is
+ * admitted as a new probe; a late outcome of the old probe is then only
+ * acted on while the breaker is still half-open.
+ *
+ * Admission is a single volatile read while closed, and outcomes are counted
+ * with one atomic add, so the breaker adds no locking to the request path.
+ */
+public final class CircuitBreaker {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CircuitBreaker.class);
+    private static final long CALL = 1L << 32; // Calls are counted in the high half of a window's counts.
+
+    public enum State {
+        /** Requests are admitted and their outcomes counted. */
+        CLOSED,
+        /** Requests are rejected until the open duration has passed. */
+        OPEN,
+        /** A single probe request is running; all other requests are rejected until it reports or times out. */
+        HALF_OPEN
+    }
+
+    /**
+     * The decision for one request, to be passed back with its outcome.
+     */
+    public enum Admission {
+        ADMITTED,
+        PROBE,
+        REJECTED
+    }
+
+    private final String name;
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final long windowNanos;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicReference<Window> window;
+    private volatile long openUntil;
+    private final AtomicLong probeDeadline = new AtomicLong();
+
+    /**
+     * Creates a closed breaker that reads the time from {@link System#nanoTime()}.
+     *
+     * @param name                 the endpoint name used in log messages
+     * @param failureRateThreshold the percentage of failed requests that opens the breaker
+     * @param minimumCalls         the number of requests a window needs before it can open the breaker
+     * @param window               the length of the window failures are counted in
+     * @param openDuration         how long the breaker rejects requests before it admits a probe
+     */
+    public CircuitBreaker(String name, int failureRateThreshold, int minimumCalls, Duration window,
+            Duration openDuration) {
+        this(name, failureRateThreshold, minimumCalls, window, openDuration, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, int failureRateThreshold, int minimumCalls, Duration window, Duration openDuration,
+            LongSupplier nanoClock) {
+        if (failureRateThreshold < 1 || failureRateThreshold > 100) {
+            throw new IllegalArgumentException("failureRateThreshold must be between 1 and 100");
+        }
+        this.name = name;
+        this.failureRateThreshold = failureRateThreshold;
+        this.minimumCalls = Math.max(1, minimumCalls);
+        this.windowNanos = window.toNanos();
+        this.openNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+        this.window = new AtomicReference<>(new Window(nanoClock.getAsLong()));
+    }
+
+    /**
+     * Decides whether a request may run.
+     *
+     * @return whether the request is admitted, admitted as the probe, or rejected
+     */
+    public Admission tryAcquire() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return Admission.ADMITTED;
+        }
+        long now = nanoClock.getAsLong();
+        if (current == State.OPEN) {
+            if (now - openUntil >= 0) {
+                probeDeadline.set(now + openNanos); // Written before the state, so no one sees an old deadline.
+                if (state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+                    return Admission.PROBE;
+                }
+            }
+            return Admission.REJECTED;
+        }
+        long deadline = probeDeadline.get();
+        if (current == State.HALF_OPEN && now - deadline >= 0
+                && probeDeadline.compareAndSet(deadline, now + openNanos)) {
+            LOG.warn("Circuit for {} admits a new probe; the previous one did not report within {} ms", name,
+                    openNanos / 1_000_000);
+            return Admission.PROBE;
+        }
+        return Admission.REJECTED;
+    }
+
+    /**
+     * Records the outcome of a request that was admitted by {@link #tryAcquire()}.
+     *
+     * @param admission the decision returned for the request
+     * @param failed    whether the request failed
+     */
+    public void record(Admission admission, boolean failed) {
+        long now = nanoClock.getAsLong();
+        if (admission == Admission.PROBE) {
+            if (state.get() != State.HALF_OPEN) {
+                return; // A probe that timed out and was replaced, reporting after the breaker moved on.
+            }
+            if (failed) {
+                openUntil = now + openNanos;
+                if (state.compareAndSet(State.HALF_OPEN, State.OPEN)) {
+                    LOG.warn("Circuit for {} stays open after a failed probe", name);
+                }
+            } else {
+                window.set(new Window(now));
+                if (state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+                    LOG.info("Circuit for {} closed after a successful probe", name);
+                }
+            }
+            return;
+        }
+        if (admission != Admission.ADMITTED || state.get() != State.CLOSED) {
+            return; // Requests admitted before the breaker opened do not count any more.
+        }
+        Window current = window.get();
+        if (now - current.start >= windowNanos) {
+            Window fresh = new Window(now);
+            current = window.compareAndSet(current, fresh) ? fresh : window.get();
+        }
+        long counts = current.counts.addAndGet(failed ? CALL + 1 : CALL);
+        if (failed) {
+            long calls = counts >>> 32;
+            long failures = counts & 0xFFFFFFFFL;
+            if (calls >= minimumCalls && failures * 100 >= calls * failureRateThreshold) {
+                openUntil = now + openNanos; // Written before the state, so a probe never sees an old deadline.
+                if (state.compareAndSet(State.CLOSED, State.OPEN)) {
+                    LOG.warn("Circuit for {} opened: {} of {} requests failed", name, failures, calls);
+                }
+            }
+        }
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Requests counted since a point in time, as calls and failures packed into one long.
+     */
+    private static final class Window {
+        final long start;
+        final AtomicLong counts = new AtomicLong();
+
+        Window(long start) {
+            this.start = start;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.springboot.controller_advice.circuit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.springboot.controller_advice.dto.ErrorTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Guards every controller method with its own {@link CircuitBreaker}.
+ *
+ * A request fails when the global exception handler answers it with a 5xx
+ * status, or when its exception is not handled at all. While an endpoint's
+ * breaker is open, its requests are answered here with a 503 whose body was
+ * written once at startup, so neither the controller, the exception handler
+ * nor the error reporting runs for them. Rejections are counted in
+ * {@value #REJECTED_METRIC}, tagged with the endpoint.
+ */
+public class CircuitBreakerInterceptor implements HandlerInterceptor {
+
+    public static final String REJECTED_METRIC = "app.circuit.rejected";
+
+    private static final String ADMISSION_ATTRIBUTE = CircuitBreakerInterceptor.class.getName() + ".admission";
+
+    private final Map<Method, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final MeterRegistry registry;
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final Duration window;
+    private final Duration openDuration;
+    private final String retryAfter; // Seconds, rounded up.
+    private final byte[] unavailableBody;
+
+    /**
+     * @param registry             the registry that receives the rejection counters
+     * @param failureRateThreshold the percentage of failed requests that opens a breaker
+     * @param minimumCalls         the number of requests a window needs before it can open a breaker
+     * @param window               the length of the window failures are counted in
+     * @param openDuration         how long a breaker rejects requests before it admits a probe
+     */
+    public CircuitBreakerInterceptor(MeterRegistry registry, int failureRateThreshold, int minimumCalls,
+            Duration window, Duration openDuration) {
+        this.registry = registry;
+        this.failureRateThreshold = failureRateThreshold;
+        this.minimumCalls = minimumCalls;
+        this.window = window;
+        this.openDuration = openDuration;
+        this.retryAfter = Long.toString(Math.max(1, (openDuration.toMillis() + 999) / 1000));
+        this.unavailableBody = unavailableBody();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!(handler instanceof HandlerMethod method) || request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true; // Async dispatches resume a request that was already admitted.
+        }
+        Endpoint endpoint = endpoints.computeIfAbsent(method.getMethod(), key -> newEndpoint(method));
+        CircuitBreaker.Admission admission = endpoint.breaker().tryAcquire();
+        if (admission == CircuitBreaker.Admission.REJECTED) {
+            endpoint.rejected().increment();
+            response.setStatus(ErrorTemplate.SERVICE_UNAVAILABLE.getStatus().value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+            response.setContentLength(unavailableBody.length);
+            response.getOutputStream().write(unavailableBody);
+            return false;
+        }
+        request.setAttribute(ADMISSION_ATTRIBUTE, admission);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        if (!(handler instanceof HandlerMethod method)
+                || !(request.getAttribute(ADMISSION_ATTRIBUTE) instanceof CircuitBreaker.Admission admission)) {
+            return;
+        }
+        request.removeAttribute(ADMISSION_ATTRIBUTE);
+        Endpoint endpoint = endpoints.get(method.getMethod());
+        if (endpoint != null) {
+            endpoint.breaker().record(admission, ex != null || response.getStatus() >= 500);
+        }
+    }
+
+    private Endpoint newEndpoint(HandlerMethod method) {
+        String name = method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        return new Endpoint(new CircuitBreaker(name, failureRateThreshold, minimumCalls, window, openDuration),
+                Counter.builder(REJECTED_METRIC).tag("endpoint", name).register(registry));
+    }
+
+    /**
+     * Writes the body of a rejected request: the status, error and message
+     * fields of an error response.
+     */
+    private static byte[] unavailableBody() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = new JsonFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeNumberField("status", ErrorTemplate.SERVICE_UNAVAILABLE.getStatus().value());
+            generator.writeStringField("error", ErrorTemplate.SERVICE_UNAVAILABLE.getError());
+            generator.writeStringField("message", "Endpoint is temporarily unavailable, retry later");
+            generator.writeEndObject();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    private record Endpoint(CircuitBreaker breaker, Counter rejected) {
+    }
+}
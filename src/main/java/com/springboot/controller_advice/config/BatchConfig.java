@@ -0,0 +1,9 @@
+package com.springboot.controller_advice.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration // Binds the limits of the batch endpoints.
+@EnableConfigurationProperties(BatchProperties.class)
+public class BatchConfig {
+}
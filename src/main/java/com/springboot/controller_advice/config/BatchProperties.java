@@ -0,0 +1,22 @@
+package com.springboot.controller_advice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Settings for the batch endpoints, bound from the {@code app.batch.*}
+ * properties.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.batch")
+public class BatchProperties {
+
+    /**
+     * Largest number of items one batch request may contain. The response
+     * holds a result per item, so this also bounds its size.
+     */
+    private int maxItems = 10_000;
+}
@@ -0,0 +1,43 @@
+package com.springboot.controller_advice.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.springboot.controller_advice.circuit.CircuitBreakerInterceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration // Short-circuits endpoints that keep failing.
+@EnableConfigurationProperties(CircuitBreakerProperties.class)
+@ConditionalOnProperty(prefix = "app.circuit", name = "enabled", matchIfMissing = true)
+public class CircuitBreakerConfig implements WebMvcConfigurer {
+
+    private final CircuitBreakerInterceptor interceptor;
+
+    public CircuitBreakerConfig(CircuitBreakerInterceptor interceptor) {
+        this.interceptor = interceptor;
+    }
+
+    /**
+     * Creates the interceptor that keeps one circuit breaker per controller method.
+     *
+     * @param properties the circuit breaker settings
+     * @param registry   the registry that receives the rejection counters
+     * @return the interceptor applied to the API endpoints
+     */
+    @Bean
+    public static CircuitBreakerInterceptor circuitBreakerInterceptor(CircuitBreakerProperties properties,
+            MeterRegistry registry) {
+        return new CircuitBreakerInterceptor(registry, properties.getFailureRateThreshold(),
+                properties.getMinimumCalls(), properties.getWindow(), properties.getOpenDuration());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor).addPathPatterns("/api/**");
+    }
+}
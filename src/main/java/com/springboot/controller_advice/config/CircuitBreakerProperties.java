@@ -0,0 +1,43 @@
+package com.springboot.controller_advice.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Settings for the per-endpoint circuit breakers, bound from the
+ * {@code app.circuit.*} properties.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.circuit")
+public class CircuitBreakerProperties {
+
+    /**
+     * Whether endpoints that keep failing are short-circuited with a 503.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Percentage of failed (5xx) requests in a window that opens an endpoint's breaker.
+     */
+    private int failureRateThreshold = 50;
+
+    /**
+     * Number of requests a window needs before its failure rate is considered.
+     */
+    private int minimumCalls = 20;
+
+    /**
+     * Length of the window failures are counted in.
+     */
+    private Duration window = Duration.ofSeconds(10);
+
+    /**
+     * How long an open breaker rejects requests before it lets a probe through.
+     */
+    private Duration openDuration = Duration.ofSeconds(5);
+}
@@ -0,0 +1,65 @@
+package com.springboot.controller_advice.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.springboot.controller_advice.logging.ErrorAuditLog;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Settings for reporting errors, bound from the {@code app.errors.*} properties.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.errors")
+public class ErrorProperties {
+
+    private final Log log = new Log();
+
+    private final Audit audit = new Audit();
+
+    @Getter
+    @Setter
+    public static class Log {
+
+        /**
+         * How often repeats of an already logged error are summarized; an error
+         * that does not repeat for this long is logged in full again.
+         */
+        private Duration window = Duration.ofSeconds(10);
+
+        /**
+         * The number of distinct errors tracked at once.
+         */
+        private int maxFingerprints = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class Audit {
+
+        /**
+         * Whether error responses are recorded in the audit file.
+         */
+        private boolean enabled = true;
+
+        /**
+         * File every error response is appended to, as newline-delimited JSON.
+         */
+        private Path file = Path.of("data/errors.ndjson");
+
+        /**
+         * Number of error events that can wait to be written.
+         */
+        private int capacity = 8192;
+
+        /**
+         * What happens to error events while the buffer is full.
+         */
+        private ErrorAuditLog.OverflowPolicy overflow = ErrorAuditLog.OverflowPolicy.DROP;
+    }
+}
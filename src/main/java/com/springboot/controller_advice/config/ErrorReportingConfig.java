@@ -0,0 +1,59 @@
+package com.springboot.controller_advice.config;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.springboot.controller_advice.logging.ErrorAggregator;
+import com.springboot.controller_advice.logging.ErrorAuditLog;
+import com.springboot.controller_advice.time.CoarseClock;
+
+@Configuration // Declares the beans that log and record errors.
+@EnableConfigurationProperties(ErrorProperties.class)
+public class ErrorReportingConfig {
+
+    /**
+     * Creates the aggregator that logs unexpected errors once per fingerprint
+     * and summarizes their repeats every {@code app.errors.log.window}.
+     *
+     * @param properties the error reporting settings
+     * @return the aggregator used by the global exception handler
+     */
+    @Bean
+    public ErrorAggregator errorAggregator(ErrorProperties properties) {
+        ErrorProperties.Log log = properties.getLog();
+        ErrorAggregator aggregator = new ErrorAggregator(LoggerFactory.getLogger(GlobalExceptionHandler.class),
+                log.getWindow(), log.getMaxFingerprints());
+        aggregator.scheduleFlushes();
+        return aggregator;
+    }
+
+    /**
+     * Creates the audit log that records every error response in
+     * {@code app.errors.audit.file}, written by a background thread. Not
+     * created when {@code app.errors.audit.enabled} is {@code false}.
+     *
+     * @param properties the error reporting settings
+     * @param clock      the clock that timestamps audit lines
+     * @return the audit log used by the global exception handler
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.errors.audit", name = "enabled", matchIfMissing = true)
+    public ErrorAuditLog errorAuditLog(ErrorProperties properties, CoarseClock clock) {
+        ErrorProperties.Audit audit = properties.getAudit();
+        return new ErrorAuditLog(audit.getFile(), audit.getCapacity(), audit.getOverflow(), clock);
+    }
+
+    /**
+     * Creates the clock that timestamps error responses and audit lines,
+     * formatting the time at most once per millisecond.
+     *
+     * @return the shared clock
+     */
+    @Bean
+    public CoarseClock coarseClock() {
+        return new CoarseClock();
+    }
+}
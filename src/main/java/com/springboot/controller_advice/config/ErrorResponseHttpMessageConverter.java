@@ -0,0 +1,84 @@
+package com.springboot.controller_advice.config;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.springboot.controller_advice.dto.ErrorResponse;
+
+/**
+ * Writes {@link ErrorResponse} bodies in each negotiable format with a
+ * {@code Content-Length}.
+ *
+ * The Jackson converters stream their output, so the servlet container does
+ * not know how long a body is and compresses it whatever its size. Error
+ * bodies are small, so this converter encodes each one into a byte array
+ * first; with the length known, response compression skips every error body
+ * below its minimum size instead of gzipping it on the error path.
+ */
+public class ErrorResponseHttpMessageConverter implements HttpMessageConverter<ErrorResponse> {
+
+    private final Map<MediaType, ObjectWriter> writers = new LinkedHashMap<>();
+    private final List<MediaType> mediaTypes;
+
+    /**
+     * @param mappers the mapper of each supported media type; the first one
+     *                is used when the caller accepts any type
+     */
+    public ErrorResponseHttpMessageConverter(Map<MediaType, ObjectMapper> mappers) {
+        mappers.forEach((mediaType, mapper) -> writers.put(mediaType, mapper.writerFor(ErrorResponse.class)));
+        this.mediaTypes = List.copyOf(writers.keySet());
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return ErrorResponse.class.isAssignableFrom(clazz) && (mediaType == null || find(mediaType) != null);
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return mediaTypes;
+    }
+
+    @Override
+    public ErrorResponse read(Class<? extends ErrorResponse> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Error responses are not read", inputMessage);
+    }
+
+    @Override
+    public void write(ErrorResponse body, MediaType contentType, HttpOutputMessage outputMessage)
+            throws IOException {
+        MediaType mediaType = contentType == null || contentType.isWildcardType() || contentType.isWildcardSubtype()
+                ? mediaTypes.get(0)
+                : find(contentType);
+        byte[] bytes = writers.get(mediaType).writeValueAsBytes(body);
+        HttpHeaders headers = outputMessage.getHeaders();
+        headers.setContentType(mediaType);
+        headers.setContentLength(bytes.length);
+        outputMessage.getBody().write(bytes);
+    }
+
+    private MediaType find(MediaType requested) {
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.isCompatibleWith(requested)) {
+                return mediaType;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.springboot.controller_advice.config;
+
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.mvc.method.annotation.ExceptionHandlerExceptionResolver;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration // Replaces the resolver that dispatches exceptions to @ExceptionHandler methods.
+public class ExceptionResolverConfig {
+
+    /**
+     * Registers a {@link MeteredExceptionHandlerExceptionResolver} in place of
+     * Spring MVC's default resolver. Spring Boot still configures it, with the
+     * same message converters and advice beans as the default one.
+     *
+     * @param registry the registry that receives the error handling metrics
+     * @return the registrations that supply the resolver
+     */
+    @Bean
+    public WebMvcRegistrations exceptionResolverRegistrations(MeterRegistry registry) {
+        return new WebMvcRegistrations() {
+            @Override
+            public ExceptionHandlerExceptionResolver getExceptionHandlerExceptionResolver() {
+                return new MeteredExceptionHandlerExceptionResolver(registry);
+            }
+        };
+    }
+}
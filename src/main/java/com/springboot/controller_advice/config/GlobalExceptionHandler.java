@@ -1,69 +1,105 @@
 package com.springboot.controller_advice.config;
 
-import java.time.LocalDateTime; // Imports the LocalDateTime class for handling date and time information.
-import java.util.HashMap; // Imports the HashMap class to create a map for storing key-value pairs.
+import java.util.LinkedHashMap; // Imports the LinkedHashMap class to collect field errors in order.
 import java.util.Map; // Imports the Map interface, which provides a structure for mapping keys to values.
 
-import org.springframework.http.HttpStatus; // Imports the HttpStatus enumeration, which contains HTTP status codes.
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity; // Imports the ResponseEntity class, used to represent HTTP responses.
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.ControllerAdvice; // Imports the ControllerAdvice annotation, which allows defining global exception handling.
 import org.springframework.web.bind.annotation.ExceptionHandler; // Imports the ExceptionHandler annotation, used to specify the exception types to handle.
 import org.springframework.web.bind.MethodArgumentNotValidException; // Imports MethodArgumentNotValidException for handling validation errors.
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.springboot.controller_advice.dto.ErrorResponse;
+import com.springboot.controller_advice.dto.ErrorTemplate;
+import com.springboot.controller_advice.exception.InvalidFieldException;
+import com.springboot.controller_advice.exception.InvalidRequestException;
+import com.springboot.controller_advice.exception.ItemConflictException;
+import com.springboot.controller_advice.exception.ItemNotFoundException;
+import com.springboot.controller_advice.logging.ErrorAggregator;
+import com.springboot.controller_advice.logging.ErrorAuditLog;
+import com.springboot.controller_advice.logging.ErrorEvent;
+import com.springboot.controller_advice.time.CoarseClock;
+
+import jakarta.servlet.http.HttpServletRequest;
 
     @ControllerAdvice // Marks this class as a global exception handler for all controllers in the
                     // application.
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET) // The reactive stack has its own.
 public class GlobalExceptionHandler {
 
+    private static final String UNEXPECTED_ERROR = "An unexpected error occurred."; // Hides the details of server faults.
+
+    private final ErrorAggregator errorAggregator; // Logs unexpected errors without repeating them per request.
+    private final ErrorAuditLog errorAuditLog; // Records every error response off the request thread; null if disabled.
+    private final CoarseClock clock; // Supplies pre-formatted timestamps.
+
+    public GlobalExceptionHandler(ErrorAggregator errorAggregator,
+            ObjectProvider<ErrorAuditLog> errorAuditLog, CoarseClock clock) {
+        this.errorAggregator = errorAggregator;
+        this.errorAuditLog = errorAuditLog.getIfAvailable();
+        this.clock = clock;
+    }
+
     /**
      * Handles MethodArgumentNotValidException for validation errors and returns a
      * 400 Bad Request status.
      *
      * @param ex the MethodArgumentNotValidException thrown when method arguments
      *           fail validation
-     * @return ResponseEntity containing a map with error details and an HTTP status
+     * @param request the request that failed
+     * @return ResponseEntity containing the error details and an HTTP status
      *         code
      */
     @ExceptionHandler(MethodArgumentNotValidException.class) // Handles validation errors for method arguments.
-    public ResponseEntity<Map<String, Object>> handleArgumentMethod(MethodArgumentNotValidException ex) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("timestamp", LocalDateTime.now());
-        response.put("status", HttpStatus.BAD_REQUEST.value()); // Sets the status code to 400.
-        response.put("error", "Validation Error");
-
+    public ResponseEntity<ErrorResponse> handleArgumentMethod(MethodArgumentNotValidException ex, HttpServletRequest request) {
         // Extract detailed error messages
-        Map<String, String> errors = new HashMap<>();
+        Map<String, String> errors = new LinkedHashMap<>();
         ex.getBindingResult().getAllErrors().forEach((error) -> {
             String fieldName = ((FieldError) error).getField();
             String errorMessage = error.getDefaultMessage();
             errors.put(fieldName, errorMessage);
         });
 
-        response.put("message", "Validation failed for one or more arguments.");
-        response.put("errors", errors); // Add specific field errors
-        response.put("path", "/api/error");
+        return respond(request, ex, ErrorTemplate.VALIDATION_ERROR, "Validation failed for one or more arguments.",
+                errors); // Returns response with 400 status.
+    }
 
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST); // Returns response with 400 status.
+    /**
+     * Handles request bodies and parameters that cannot be read or converted
+     * and returns a 400 Bad Request status. These are the client's mistakes,
+     * so they are logged as warnings without a stack trace.
+     *
+     * @param ex the exception Spring MVC threw while reading the request
+     * @param request the request that failed
+     * @return ResponseEntity containing the error details and an HTTP status
+     *         code
+     */
+    @ExceptionHandler({ HttpMessageNotReadableException.class, MethodArgumentTypeMismatchException.class })
+    public ResponseEntity<ErrorResponse> handleClientInputException(RuntimeException ex, HttpServletRequest request) {
+        errorAggregator.recordClientError(ex);
+        // Returns response with 400 status.
+        return respond(request, ex, ErrorTemplate.BAD_REQUEST, ex.getMessage(), null);
     }
+
     /**
-     * Handles RuntimeException and sends a structured response with details about
-     * the error.
+     * Handles any other RuntimeException, which is a fault of the server such
+     * as a failed write to the item store, and returns a response with a 500
+     * Internal Server Error status.
      *
      * @param ex the RuntimeException thrown in the application
-     * @return ResponseEntity containing a map with error details and an HTTP status
+     * @param request the request that failed
+     * @return ResponseEntity containing the error details and an HTTP status
      *         code
      */
     @ExceptionHandler(RuntimeException.class) // Specifies that this method handles exceptions of type RuntimeException.
-    public ResponseEntity<Map<String, Object>> handleRuntimeException(RuntimeException ex) {
-        Map<String, Object> response = new HashMap<>(); // Creates a new HashMap to store the response data.
-        response.put("timestamp", LocalDateTime.now()); // Adds the current timestamp to the response.
-        response.put("status", HttpStatus.BAD_REQUEST.value()); // Adds the HTTP status code to the response.
-        response.put("error", "Bad Request"); // Adds a description of the error type to the response.
-        response.put("message", ex.getMessage()); // Adds the error message from the exception.
-        response.put("path", "/api/error"); // Adds the request path where the error occurred.
-
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST); // Returns the response entity with error
-                                                                    // details.
+    public ResponseEntity<ErrorResponse> handleRuntimeException(RuntimeException ex, HttpServletRequest request) {
+        // Returns response with 500 status; the exception is logged with its stack trace.
+        return respond(request, ex, ErrorTemplate.INTERNAL_SERVER_ERROR, UNEXPECTED_ERROR, null);
     }
 
     /**
@@ -71,19 +107,14 @@ public class GlobalExceptionHandler {
      * Server Error status.
      *
      * @param ex the NullPointerException thrown in the application
-     * @return ResponseEntity containing a map with error details and an HTTP status
+     * @param request the request that failed
+     * @return ResponseEntity containing the error details and an HTTP status
      *         code
      */
     @ExceptionHandler(NullPointerException.class) // Handles exceptions of type NullPointerException.
-    public ResponseEntity<Map<String, Object>> handleNullPointerException(NullPointerException ex) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("timestamp", LocalDateTime.now());
-        response.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value()); // Sets the status code to 500.
-        response.put("error", "Internal Server Error");
-        response.put("message", "A null pointer exception occurred.");
-        response.put("path", "/api/error");
-
-        return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR); // Returns response with 500 status.
+    public ResponseEntity<ErrorResponse> handleNullPointerException(NullPointerException ex, HttpServletRequest request) {
+        return respond(request, ex, ErrorTemplate.INTERNAL_SERVER_ERROR, "A null pointer exception occurred.",
+                null); // Returns response with 500 status.
     }
 
     /**
@@ -91,20 +122,100 @@ public class GlobalExceptionHandler {
      * Request status.
      *
      * @param ex the IllegalArgumentException thrown in the application
-     * @return ResponseEntity containing a map with error details and an HTTP status
+     * @param request the request that failed
+     * @return ResponseEntity containing the error details and an HTTP status
      *         code
      */
     @ExceptionHandler(IllegalArgumentException.class) // Handles exceptions of type IllegalArgumentException.
-    public ResponseEntity<Map<String, Object>> handleIllegalArgumentException(IllegalArgumentException ex) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("timestamp", LocalDateTime.now());
-        response.put("status", HttpStatus.BAD_REQUEST.value()); // Sets the status code to 400.
-        response.put("error", "Bad Request");
-        response.put("message", ex.getMessage());
-        response.put("path", "/api/error");
-
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST); // Returns response with 400 status.
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex, HttpServletRequest request) {
+        errorAggregator.record(ex);
+        // Returns response with 400 status.
+        return respond(request, ex, ErrorTemplate.BAD_REQUEST, ex.getMessage(), null);
     }
 
+    /**
+     * Handles ItemNotFoundException and returns a response with a 404 Not Found
+     * status.
+     *
+     * @param ex the ItemNotFoundException thrown for a missing item
+     * @param request the request that failed
+     * @return ResponseEntity containing the error details and an HTTP status
+     *         code
+     */
+    @ExceptionHandler(ItemNotFoundException.class) // Handles requests for items that do not exist.
+    public ResponseEntity<ErrorResponse> handleItemNotFoundException(ItemNotFoundException ex, HttpServletRequest request) {
+        // Returns response with 404 status.
+        return respond(request, ex, ErrorTemplate.NOT_FOUND, ex.getMessage(), null);
+    }
 
+    /**
+     * Handles ItemConflictException and returns a response with a 409 Conflict
+     * status.
+     *
+     * @param ex the ItemConflictException thrown for an item that already exists
+     * @param request the request that failed
+     * @return ResponseEntity containing the error details and an HTTP status
+     *         code
+     */
+    @ExceptionHandler(ItemConflictException.class) // Handles attempts to create items that already exist.
+    public ResponseEntity<ErrorResponse> handleItemConflictException(ItemConflictException ex, HttpServletRequest request) {
+        // Returns response with 409 status.
+        return respond(request, ex, ErrorTemplate.CONFLICT, ex.getMessage(), null);
+    }
+
+    /**
+     * Handles InvalidRequestException and returns a response with a 400 Bad
+     * Request status.
+     *
+     * @param ex the InvalidRequestException thrown for invalid request parameters
+     * @param request the request that failed
+     * @return ResponseEntity containing the error details and an HTTP status
+     *         code
+     */
+    @ExceptionHandler(InvalidRequestException.class) // Handles request parameters that are out of range or malformed.
+    public ResponseEntity<ErrorResponse> handleInvalidRequestException(InvalidRequestException ex, HttpServletRequest request) {
+        // Returns response with 400 status.
+        return respond(request, ex, ErrorTemplate.BAD_REQUEST, ex.getMessage(), null);
+    }
+
+    /**
+     * Handles InvalidFieldException from fail-fast validation and returns a 400
+     * Bad Request status with the error of the first invalid field.
+     *
+     * @param ex the InvalidFieldException thrown for the first invalid field of a request body
+     * @param request the request that failed
+     * @return ResponseEntity containing the error details and an HTTP status
+     *         code
+     */
+    @ExceptionHandler(InvalidFieldException.class) // Handles request bodies rejected by fail-fast validation.
+    public ResponseEntity<ErrorResponse> handleInvalidFieldException(InvalidFieldException ex, HttpServletRequest request) {
+        // Returns response with 400 status, shaped like a full validation failure.
+        return respond(request, ex, ErrorTemplate.VALIDATION_ERROR, "Validation failed for one or more arguments.",
+                Map.of(ex.getField(), ex.getMessage()));
+    }
+
+    /**
+     * Builds the error response for the failed request, logs it if it
+     * is a server error, records it in the audit log if that is enabled, and
+     * wraps it in a response with the template's status.
+     *
+     * The path is the request URI, which the servlet container has already
+     * decoded; the route is the pattern Spring matched the request against,
+     * so neither is parsed again here.
+     */
+    private ResponseEntity<ErrorResponse> respond(HttpServletRequest request, Exception ex, ErrorTemplate template,
+            String message, Map<String, String> errors) {
+        if (template.getStatus().is5xxServerError()) {
+            errorAggregator.record(ex);
+        }
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        CoarseClock.Timestamp now = clock.now();
+        ErrorResponse body = new ErrorResponse(now, template, message, errors, request.getRequestURI(),
+                route != null ? route.toString() : null);
+        if (errorAuditLog != null) {
+            errorAuditLog.publish(new ErrorEvent(now, template.getStatus().value(),
+                    template.getError(), ex.getClass().getName(), message, body.getPath(), body.getRoute()));
+        }
+        return body.toResponseEntity();
+    }
 }
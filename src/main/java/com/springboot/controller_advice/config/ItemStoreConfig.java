@@ -0,0 +1,63 @@
+package com.springboot.controller_advice.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.springboot.controller_advice.store.ConcurrentItemStore;
+import com.springboot.controller_advice.store.DurableItemStore;
+import com.springboot.controller_advice.store.ItemStore;
+import com.springboot.controller_advice.store.OffHeapItemStore;
+
+@Configuration // Declares the beans that make up the item store.
+@EnableConfigurationProperties(ItemStoreProperties.class)
+public class ItemStoreConfig {
+
+    /**
+     * Creates the item store selected by {@code app.store.mode}, wrapped in a
+     * write-ahead log when {@code app.store.wal.enabled} is set.
+     *
+     * The log is only combined with the heap store: the off-heap store
+     * already reopens its own file, and replaying the log into it would
+     * append every item to that file again on each restart.
+     *
+     * @param properties the item store settings
+     * @return the item store shared by all controllers
+     * @throws IllegalStateException if the write-ahead log is enabled for the off-heap store, or
+     *                               the off-heap chunk size does not fit a single mapped buffer
+     */
+    @Bean
+    public ItemStore itemStore(ItemStoreProperties properties) {
+        ItemStoreProperties.Wal wal = properties.getWal();
+        if (wal.isEnabled() && properties.getMode() != ItemStoreProperties.Mode.HEAP) {
+            throw new IllegalStateException("app.store.wal.enabled requires app.store.mode=heap; the "
+                    + properties.getMode() + " store persists its items itself");
+        }
+        ItemStore store = switch (properties.getMode()) {
+            case HEAP -> new ConcurrentItemStore();
+            case OFF_HEAP -> new OffHeapItemStore(properties.getOffHeap().getFile(), chunkSize(properties));
+        };
+        if (wal.isEnabled()) {
+            DurableItemStore durable = new DurableItemStore(store, wal.getDirectory(), wal.getFsync(),
+                    wal.getFsyncInterval());
+            if (!wal.getSnapshotInterval().isZero()) {
+                durable.scheduleCheckpoints(wal.getSnapshotInterval(), wal.getSnapshotMinLogSize().toBytes());
+            }
+            store = durable;
+        }
+        return store;
+    }
+
+    /**
+     * Returns the off-heap chunk size in bytes. A chunk is mapped as a single
+     * buffer, so it must be smaller than 2GB.
+     */
+    private static int chunkSize(ItemStoreProperties properties) {
+        long bytes = properties.getOffHeap().getChunkSize().toBytes();
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalStateException("app.store.off-heap.chunk-size must be smaller than 2GB, was "
+                    + properties.getOffHeap().getChunkSize());
+        }
+        return Math.toIntExact(bytes);
+    }
+}
@@ -0,0 +1,90 @@
+package com.springboot.controller_advice.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import com.springboot.controller_advice.store.WriteAheadLog;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Settings for the item store, bound from the {@code app.store.*} properties.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.store")
+public class ItemStoreProperties {
+
+    /**
+     * Where item values are kept.
+     */
+    private Mode mode = Mode.HEAP;
+
+    private final OffHeap offHeap = new OffHeap();
+
+    private final Wal wal = new Wal();
+
+    public enum Mode {
+        /** Values are Java strings in an in-memory map; nothing survives a restart. */
+        HEAP,
+        /** Values are UTF-8 records in a memory-mapped file that is reopened on restart. */
+        OFF_HEAP
+    }
+
+    @Getter
+    @Setter
+    public static class OffHeap {
+
+        /**
+         * Backing file of the off-heap store.
+         */
+        private Path file = Path.of("data/items.dat");
+
+        /**
+         * Size of each memory-mapped chunk of the backing file; also the largest
+         * item value that can be stored. Must be a multiple of 8 bytes and smaller
+         * than 2GB.
+         */
+        private DataSize chunkSize = DataSize.ofMegabytes(64);
+    }
+
+    @Getter
+    @Setter
+    public static class Wal {
+
+        /**
+         * Whether mutations are recorded in a write-ahead log and replayed on
+         * startup. Only supported with the heap store.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Directory holding the log segments.
+         */
+        private Path directory = Path.of("data/wal");
+
+        /**
+         * When log records are forced to disk.
+         */
+        private WriteAheadLog.FsyncPolicy fsync = WriteAheadLog.FsyncPolicy.ALWAYS;
+
+        /**
+         * How often the log is flushed when {@code fsync} is {@code interval}.
+         */
+        private Duration fsyncInterval = Duration.ofMillis(10);
+
+        /**
+         * How often the log size is checked for a snapshot; zero disables snapshots.
+         */
+        private Duration snapshotInterval = Duration.ofMinutes(1);
+
+        /**
+         * Log growth since the last snapshot that triggers a new snapshot and log truncation.
+         */
+        private DataSize snapshotMinLogSize = DataSize.ofMegabytes(64);
+    }
+}
@@ -0,0 +1,63 @@
+package com.springboot.controller_advice.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.springboot.controller_advice.dto.ErrorResponse;
+
+@Configuration // Adds binary encodings of the JSON bodies for callers that ask for them.
+public class MessageConverterConfig {
+
+    /**
+     * Reads and writes {@code application/cbor} bodies with a mapper that has
+     * the same modules and settings as Spring Boot's JSON mapper.
+     *
+     * @param builder Spring Boot's mapper builder, a new instance per injection point
+     * @return the converter Spring MVC negotiates CBOR with
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Reads and writes {@code application/x-jackson-smile} bodies with a
+     * mapper that has the same modules and settings as Spring Boot's JSON mapper.
+     *
+     * @param builder Spring Boot's mapper builder, a new instance per injection point
+     * @return the converter Spring MVC negotiates Smile with
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    /**
+     * Writes error responses in JSON, CBOR or Smile with a known length, so
+     * response compression leaves small error bodies alone.
+     *
+     * @param objectMapper Spring Boot's JSON mapper
+     * @param cbor         the CBOR converter, whose mapper is reused
+     * @param smile        the Smile converter, whose mapper is reused
+     * @return the converter that takes precedence for {@link ErrorResponse} bodies
+     */
+    @Bean
+    public ErrorResponseHttpMessageConverter errorResponseHttpMessageConverter(ObjectMapper objectMapper,
+            MappingJackson2CborHttpMessageConverter cbor, MappingJackson2SmileHttpMessageConverter smile) {
+        Map<MediaType, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put(MediaType.APPLICATION_JSON, objectMapper);
+        mappers.put(MediaType.APPLICATION_CBOR, cbor.getObjectMapper());
+        smile.getSupportedMediaTypes().forEach(mediaType -> mappers.put(mediaType, smile.getObjectMapper()));
+        return new ErrorResponseHttpMessageConverter(mappers);
+    }
+}
@@ -0,0 +1,208 @@
+package com.springboot.controller_advice.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.MessageSource;
+import org.springframework.web.method.ControllerAdviceBean;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.mvc.method.annotation.ExceptionHandlerExceptionResolver;
+import org.springframework.web.servlet.mvc.method.annotation.ServletInvocableHandlerMethod;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * {@link ExceptionHandlerExceptionResolver} that caches which
+ * {@code @ExceptionHandler} method handles an exception, and records metrics
+ * about the handlers that run.
+ *
+ * Spring already caches the handler method per exception class within each
+ * controller and advice, but still checks the controller and then every
+ * advice, in order, for each exception. This resolver remembers the outcome
+ * per exception class and controller type, so a repeated error goes straight
+ * to its handler. Exceptions with a cause bypass the cache, because Spring may
+ * pick a handler for the cause instead; all other resolutions depend only on
+ * the exception class and the controller.
+ *
+ * Metrics:
+ * <ul>
+ * <li>{@value #HANDLED_METRIC} (timer): how often each handler runs, and how
+ * long resolving the handler, invoking it and writing the response takes.
+ * Tagged by {@code handler} ({@code none} for exceptions without one),
+ * {@code exception} (the simple class name), {@code uri} (the route template
+ * of the failed request) and {@code status}. Its percentiles and histogram
+ * buckets are enabled with the {@code management.metrics.distribution.*}
+ * properties; recording into them does not take locks.</li>
+ * <li>{@value #CACHE_METRIC} (counter, tagged by {@code result}):
+ * {@code hit}, {@code miss}, or {@code bypass} for exceptions with a cause.</li>
+ * </ul>
+ */
+public class MeteredExceptionHandlerExceptionResolver extends ExceptionHandlerExceptionResolver {
+
+    static final String HANDLED_METRIC = "app.exceptions.handled";
+    static final String CACHE_METRIC = "app.exceptions.resolution.cache";
+
+    private final MeterRegistry registry;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final Counter cacheBypasses;
+
+    // Exception class -> controller type (Void for none) -> resolved handler.
+    private final ClassValue<Map<Class<?>, Resolution>> cache = new ClassValue<>() {
+        @Override
+        protected Map<Class<?>, Resolution> computeValue(Class<?> exceptionType) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    // Hands the resolved handler from getExceptionHandlerMethod to doResolveHandlerMethodException.
+    private final ThreadLocal<Resolution> current = new ThreadLocal<>();
+
+    public MeteredExceptionHandlerExceptionResolver(MeterRegistry registry) {
+        this.registry = registry;
+        this.cacheHits = registry.counter(CACHE_METRIC, "result", "hit");
+        this.cacheMisses = registry.counter(CACHE_METRIC, "result", "miss");
+        this.cacheBypasses = registry.counter(CACHE_METRIC, "result", "bypass");
+    }
+
+    @Override
+    protected ModelAndView doResolveHandlerMethodException(HttpServletRequest request, HttpServletResponse response,
+            HandlerMethod handlerMethod, Exception exception) {
+        long start = System.nanoTime();
+        try {
+            return super.doResolveHandlerMethodException(request, response, handlerMethod, exception);
+        } finally {
+            long duration = System.nanoTime() - start;
+            Resolution resolution = current.get();
+            current.remove();
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            TimerKey key = new TimerKey(route != null ? route.toString() : "UNKNOWN", response.getStatus());
+            Timer timer = resolution != null ? resolution.timer(key, this::timer) : timer("none", exception, key);
+            timer.record(duration, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    protected ServletInvocableHandlerMethod getExceptionHandlerMethod(HandlerMethod handlerMethod,
+            Exception exception) {
+        boolean cacheable = exception.getCause() == null;
+        Map<Class<?>, Resolution> byController = null;
+        Class<?> controllerType = handlerMethod != null ? handlerMethod.getBeanType() : Void.class;
+        if (cacheable) {
+            byController = cache.get(exception.getClass());
+            Resolution resolution = byController.get(controllerType);
+            if (resolution != null) {
+                cacheHits.increment();
+                current.set(resolution);
+                return resolution.create(handlerMethod, getApplicationContext());
+            }
+            cacheMisses.increment();
+        } else {
+            cacheBypasses.increment();
+        }
+
+        ServletInvocableHandlerMethod method = super.getExceptionHandlerMethod(handlerMethod, exception);
+        if (method != null) {
+            Resolution resolution = resolve(handlerMethod, method, exception);
+            current.set(resolution);
+            if (cacheable && resolution.isReusable()) {
+                byController.put(controllerType, resolution);
+            }
+        }
+        return method;
+    }
+
+    /**
+     * Works out where a handler method chosen by Spring came from: the
+     * controller itself, or one of the advice beans.
+     */
+    private Resolution resolve(HandlerMethod handlerMethod, ServletInvocableHandlerMethod method,
+            Exception exception) {
+        String handler = method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        String exceptionType = exception.getClass().getSimpleName();
+        if (handlerMethod != null && method.getBean() == handlerMethod.getBean()) {
+            return new Resolution(method, true, null, handler, exceptionType);
+        }
+        for (ControllerAdviceBean advice : getExceptionHandlerAdviceCache().keySet()) {
+            if (advice.resolveBean() == method.getBean()) {
+                return new Resolution(method, false, advice, handler, exceptionType);
+            }
+        }
+        return new Resolution(method, false, null, handler, exceptionType); // E.g. a prototype advice bean.
+    }
+
+    private Timer timer(String handler, Exception exception, TimerKey key) {
+        return timer(handler, exception.getClass().getSimpleName(), key);
+    }
+
+    private Timer timer(String handler, String exceptionType, TimerKey key) {
+        return Timer.builder(HANDLED_METRIC)
+                .tag("handler", handler)
+                .tag("exception", exceptionType)
+                .tag("uri", key.route())
+                .tag("status", Integer.toString(key.status()))
+                .register(registry);
+    }
+
+    /**
+     * The request-specific tags of a {@value #HANDLED_METRIC} timer.
+     */
+    private record TimerKey(String route, int status) {
+    }
+
+    @FunctionalInterface
+    private interface TimerFactory {
+        Timer create(String handler, String exceptionType, TimerKey key);
+    }
+
+    /**
+     * A resolved handler method, declared either by the controller
+     * ({@code local}) or by an advice bean.
+     */
+    private static final class Resolution {
+        final ServletInvocableHandlerMethod method;
+        final boolean local;
+        final ControllerAdviceBean advice;
+        final String handler;
+        final String exceptionType;
+        final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>(); // Saves a registry lookup per error.
+
+        Resolution(ServletInvocableHandlerMethod method, boolean local, ControllerAdviceBean advice, String handler,
+                String exceptionType) {
+            this.method = method;
+            this.local = local;
+            this.advice = advice;
+            this.handler = handler;
+            this.exceptionType = exceptionType;
+        }
+
+        Timer timer(TimerKey key, TimerFactory factory) {
+            Timer timer = timers.get(key);
+            return timer != null ? timer
+                    : timers.computeIfAbsent(key, k -> factory.create(handler, exceptionType, k));
+        }
+
+        /**
+         * Whether the bean declaring the method can be found again for the
+         * next exception, which is required for caching.
+         */
+        boolean isReusable() {
+            return local || advice != null;
+        }
+
+        /**
+         * Creates a fresh invocable method, as Spring does for every exception,
+         * since its return value handlers are set per invocation.
+         */
+        ServletInvocableHandlerMethod create(HandlerMethod handlerMethod, MessageSource messageSource) {
+            Object bean = advice != null ? advice.resolveBean() : handlerMethod.getBean();
+            return new ServletInvocableHandlerMethod(bean, method.getMethod(), messageSource);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.springboot.controller_advice.config;
+
+import java.util.Map;
+
+import org.reactivestreams.Publisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.MimeType;
+import org.springframework.validation.Validator;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.controller_advice.validation.CompiledValidator;
+
+import jakarta.validation.ValidatorFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration // Runs the reactive item API on Netty when spring.main.web-application-type=reactive.
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveConfig implements WebFluxConfigurer {
+
+    private final ValidationProperties validationProperties;
+    private final ValidatorFactory validatorFactory;
+
+    public ReactiveConfig(ValidationProperties validationProperties, ValidatorFactory validatorFactory) {
+        this.validationProperties = validationProperties;
+        this.validatorFactory = validatorFactory;
+    }
+
+    /**
+     * Serves the reactive stack from Netty's event loops. Spring Boot would
+     * otherwise pick Tomcat, which is on the classpath for the servlet stack.
+     *
+     * @return the Netty server factory, configured from the {@code server.*} properties
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Selects where the reactive controller calls the item store. The
+     * in-memory stores never block, so they are called in place on the event
+     * loop; with the write-ahead log a write may wait for fsync, so store
+     * calls move to a bounded pool of worker threads.
+     *
+     * @param properties the item store settings
+     * @return the scheduler of item store calls
+     */
+    @Bean
+    public Scheduler itemStoreScheduler(ItemStoreProperties properties) {
+        return properties.getWal().isEnabled() ? Schedulers.boundedElastic() : Schedulers.immediate();
+    }
+
+    /**
+     * Encodes CBOR and Smile bodies with the mappers of the servlet stack's
+     * converters, so both stacks write the same bytes.
+     *
+     * Custom codecs are consulted before the default JSON codec, so the JSON
+     * encoder is registered ahead of CBOR to stay the encoding of callers
+     * that accept any type.
+     *
+     * @param objectMapper Spring Boot's JSON mapper
+     * @param cbor         the CBOR converter, whose mapper is reused
+     * @param smile        the Smile converter, whose mapper is reused
+     * @return the customizer that registers the binary codecs
+     */
+    @Bean
+    public CodecCustomizer binaryCodecCustomizer(ObjectMapper objectMapper, MappingJackson2CborHttpMessageConverter cbor,
+            MappingJackson2SmileHttpMessageConverter smile) {
+        // The codecs default to the JSON media types unless they are given their own.
+        MimeType[] cborTypes = cbor.getSupportedMediaTypes().toArray(MimeType[]::new);
+        MimeType[] smileTypes = smile.getSupportedMediaTypes().toArray(MimeType[]::new);
+        return configurer -> {
+            configurer.customCodecs().register(new Jackson2JsonEncoder(objectMapper));
+            configurer.customCodecs().register(new SingleValueCborEncoder(cbor.getObjectMapper(), cborTypes));
+            configurer.customCodecs().register(new Jackson2CborDecoder(cbor.getObjectMapper(), cborTypes));
+            configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smile.getObjectMapper(), smileTypes));
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smile.getObjectMapper(), smileTypes));
+        };
+    }
+
+    /**
+     * Returns a {@link CompiledValidator} when {@code app.validation.mode} is
+     * {@code compiled}, or {@code null} to keep Spring Boot's default validator.
+     */
+    @Override
+    public Validator getValidator() {
+        if (validationProperties.getMode() != ValidationProperties.Mode.COMPILED) {
+            return null;
+        }
+        return new CompiledValidator(validatorFactory, validationProperties.isFailFast());
+    }
+
+    /**
+     * CBOR encoder that also writes single values. Spring 6.0 encodes a
+     * {@code Mono} body through {@link #encode}, which Jackson2CborEncoder
+     * only implements for streams, by throwing.
+     */
+    private static final class SingleValueCborEncoder extends Jackson2CborEncoder {
+
+        SingleValueCborEncoder(ObjectMapper mapper, MimeType... mimeTypes) {
+            super(mapper, mimeTypes);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+            if (inputStream instanceof Mono<?> value) {
+                return value.map(body -> encodeValue(body, bufferFactory, elementType, mimeType, hints)).flux();
+            }
+            return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+        }
+    }
+}
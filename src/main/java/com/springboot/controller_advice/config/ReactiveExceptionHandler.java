@@ -0,0 +1,147 @@
+package com.springboot.controller_advice.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.springboot.controller_advice.dto.ErrorResponse;
+import com.springboot.controller_advice.dto.ErrorTemplate;
+import com.springboot.controller_advice.exception.InvalidFieldException;
+import com.springboot.controller_advice.exception.InvalidRequestException;
+import com.springboot.controller_advice.exception.ItemConflictException;
+import com.springboot.controller_advice.exception.ItemNotFoundException;
+import com.springboot.controller_advice.logging.ErrorAggregator;
+import com.springboot.controller_advice.logging.ErrorAuditLog;
+import com.springboot.controller_advice.logging.ErrorEvent;
+import com.springboot.controller_advice.time.CoarseClock;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * The error mapping of {@link GlobalExceptionHandler} for the reactive stack:
+ * the same exceptions produce the same status codes and {@link ErrorResponse}
+ * bodies, and are recorded in the same aggregator and audit log.
+ *
+ * Spring WebFlux reports binding failures as {@link ServerWebInputException}s
+ * rather than the servlet exception types; they are answered like those,
+ * with a 400 and a warning. Other {@link ResponseStatusException}s,
+ * such as an unsupported media type, keep their status, as the servlet
+ * exceptions Spring MVC throws for them do.
+ */
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+
+    private static final String VALIDATION_FAILED = "Validation failed for one or more arguments.";
+    private static final String UNEXPECTED_ERROR = "An unexpected error occurred.";
+
+    private final ErrorAggregator errorAggregator; // Logs unexpected errors without repeating them per request.
+    private final ErrorAuditLog errorAuditLog; // Records every error response off the request thread; null if disabled.
+    private final CoarseClock clock; // Supplies pre-formatted timestamps.
+
+    public ReactiveExceptionHandler(ErrorAggregator errorAggregator,
+            ObjectProvider<ErrorAuditLog> errorAuditLog, CoarseClock clock) {
+        this.errorAggregator = errorAggregator;
+        this.errorAuditLog = errorAuditLog.getIfAvailable();
+        this.clock = clock;
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class) // Handles request bodies that fail validation.
+    public ResponseEntity<ErrorResponse> handleBindException(WebExchangeBindException ex, ServerWebExchange exchange) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        ex.getBindingResult().getAllErrors().forEach(error -> errors.put(((FieldError) error).getField(),
+                error.getDefaultMessage()));
+        return respond(exchange, ex, ErrorTemplate.VALIDATION_ERROR, VALIDATION_FAILED, errors);
+    }
+
+    @ExceptionHandler(InvalidFieldException.class) // Handles request bodies rejected by fail-fast validation.
+    public ResponseEntity<ErrorResponse> handleInvalidFieldException(InvalidFieldException ex,
+            ServerWebExchange exchange) {
+        return respond(exchange, ex, ErrorTemplate.VALIDATION_ERROR, VALIDATION_FAILED,
+                Map.of(ex.getField(), ex.getMessage()));
+    }
+
+    @ExceptionHandler(ItemNotFoundException.class) // Handles requests for items that do not exist.
+    public ResponseEntity<ErrorResponse> handleItemNotFoundException(ItemNotFoundException ex,
+            ServerWebExchange exchange) {
+        return respond(exchange, ex, ErrorTemplate.NOT_FOUND, ex.getMessage(), null);
+    }
+
+    @ExceptionHandler(ItemConflictException.class) // Handles attempts to create items that already exist.
+    public ResponseEntity<ErrorResponse> handleItemConflictException(ItemConflictException ex,
+            ServerWebExchange exchange) {
+        return respond(exchange, ex, ErrorTemplate.CONFLICT, ex.getMessage(), null);
+    }
+
+    @ExceptionHandler(InvalidRequestException.class) // Handles request parameters that are out of range or malformed.
+    public ResponseEntity<ErrorResponse> handleInvalidRequestException(InvalidRequestException ex,
+            ServerWebExchange exchange) {
+        return respond(exchange, ex, ErrorTemplate.BAD_REQUEST, ex.getMessage(), null);
+    }
+
+    @ExceptionHandler(NullPointerException.class) // Handles exceptions of type NullPointerException.
+    public ResponseEntity<ErrorResponse> handleNullPointerException(NullPointerException ex,
+            ServerWebExchange exchange) {
+        return respond(exchange, ex, ErrorTemplate.INTERNAL_SERVER_ERROR, "A null pointer exception occurred.",
+                null);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class) // Handles exceptions of type IllegalArgumentException.
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex,
+            ServerWebExchange exchange) {
+        errorAggregator.record(ex);
+        return respond(exchange, ex, ErrorTemplate.BAD_REQUEST, ex.getMessage(), null);
+    }
+
+    /**
+     * Answers input errors with a 400, logged as a warning without a stack
+     * trace, and passes every other status exception on to the default error
+     * handling.
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleResponseStatusException(ResponseStatusException ex,
+            ServerWebExchange exchange) {
+        if (ex instanceof ServerWebInputException) {
+            errorAggregator.recordClientError(ex);
+            return Mono.just(respond(exchange, ex, ErrorTemplate.BAD_REQUEST, ex.getMessage(), null));
+        }
+        return Mono.error(ex);
+    }
+
+    @ExceptionHandler(RuntimeException.class) // Handles any other RuntimeException, a fault of the server.
+    public ResponseEntity<ErrorResponse> handleRuntimeException(RuntimeException ex, ServerWebExchange exchange) {
+        return respond(exchange, ex, ErrorTemplate.INTERNAL_SERVER_ERROR, UNEXPECTED_ERROR, null);
+    }
+
+    /**
+     * Builds the error response for the failed exchange, logs it if it
+     * is a server error, records it in the audit log if that is enabled, and
+     * wraps it in a response with the template's status.
+     */
+    private ResponseEntity<ErrorResponse> respond(ServerWebExchange exchange, Exception ex, ErrorTemplate template,
+            String message, Map<String, String> errors) {
+        if (template.getStatus().is5xxServerError()) {
+            errorAggregator.record(ex);
+        }
+        Object route = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        CoarseClock.Timestamp now = clock.now();
+        ErrorResponse body = new ErrorResponse(now, template, message, errors,
+                exchange.getRequest().getPath().value(), route != null ? route.toString() : null);
+        if (errorAuditLog != null) {
+            errorAuditLog.publish(new ErrorEvent(now, template.getStatus().value(),
+                    template.getError(), ex.getClass().getName(), message, body.getPath(), body.getRoute()));
+        }
+        return body.toResponseEntity();
+    }
+}
@@ -0,0 +1,28 @@
+package com.springboot.controller_advice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Settings for the threads that handle requests, bound from the
+ * {@code app.threads.*} properties.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.threads")
+public class ThreadingProperties {
+
+    /**
+     * Which threads Tomcat runs request handling on.
+     */
+    private Mode mode = Mode.PLATFORM;
+
+    public enum Mode {
+        /** Tomcat's pool of platform threads, sized by {@code server.tomcat.threads.*}. */
+        PLATFORM,
+        /** A new virtual thread per request; inert on the Java 17 runtime this build targets, needs Java 21. */
+        VIRTUAL
+    }
+}
@@ -0,0 +1,35 @@
+package com.springboot.controller_advice.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.Validator;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.springboot.controller_advice.validation.CompiledValidator;
+
+import jakarta.validation.ValidatorFactory;
+
+@Configuration // Selects the validator Spring MVC applies to @Valid arguments.
+@EnableConfigurationProperties(ValidationProperties.class)
+public class ValidationConfig implements WebMvcConfigurer {
+
+    private final ValidationProperties properties;
+    private final ValidatorFactory validatorFactory;
+
+    public ValidationConfig(ValidationProperties properties, ValidatorFactory validatorFactory) {
+        this.properties = properties;
+        this.validatorFactory = validatorFactory;
+    }
+
+    /**
+     * Returns a {@link CompiledValidator} when {@code app.validation.mode} is
+     * {@code compiled}, or {@code null} to keep Spring Boot's default validator.
+     */
+    @Override
+    public Validator getValidator() {
+        if (properties.getMode() != ValidationProperties.Mode.COMPILED) {
+            return null;
+        }
+        return new CompiledValidator(validatorFactory, properties.isFailFast());
+    }
+}
@@ -0,0 +1,34 @@
+package com.springboot.controller_advice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Settings for validating request bodies, bound from the
+ * {@code app.validation.*} properties.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.validation")
+public class ValidationProperties {
+
+    /**
+     * How {@code @Valid} request bodies are validated.
+     */
+    private Mode mode = Mode.STANDARD;
+
+    /**
+     * Whether compiled validation rejects a body at its first violation
+     * instead of reporting every violated field.
+     */
+    private boolean failFast = false;
+
+    public enum Mode {
+        /** The Bean Validation provider evaluates the constraint metadata on every request. */
+        STANDARD,
+        /** Constraints are compiled once per class into direct checks. */
+        COMPILED
+    }
+}
@@ -0,0 +1,90 @@
+package com.springboot.controller_advice.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Runs request handling on virtual threads when {@code app.threads.mode} is
+ * {@code virtual}.
+ *
+ * The application is built for Java 17, which has no virtual threads, so on
+ * this build the mode is inert: the executor is looked up reflectively, and
+ * below Java 21 a warning is logged and Tomcat keeps its platform thread pool.
+ * It only takes effect when the same jar runs on Java 21 or later.
+ */
+@Configuration // Selects the threads Tomcat handles requests on.
+@EnableConfigurationProperties(ThreadingProperties.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class VirtualThreadConfig implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    private final ExecutorService executor; // Virtual thread per request; null for the platform pool.
+
+    public VirtualThreadConfig(ThreadingProperties properties) {
+        if (properties.getMode() != ThreadingProperties.Mode.VIRTUAL) {
+            this.executor = null;
+            return;
+        }
+        this.executor = virtualThreadExecutor();
+        if (executor == null) {
+            log.warn("app.threads.mode=virtual needs Java 21 or later, running on {}; keeping the platform thread pool",
+                    Runtime.version());
+        }
+    }
+
+    /**
+     * Replaces the connector's thread pool with the virtual-thread executor,
+     * if there is one. A thread blocked on I/O then releases its carrier
+     * instead of holding one of {@code server.tomcat.threads.max} pool
+     * threads, so concurrency is bounded by {@code server.tomcat.max-connections}
+     * alone.
+     *
+     * @return the customizer applied to the Tomcat connector
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            if (executor != null) {
+                protocolHandler.setExecutor(executor);
+                log.info("Handling requests on virtual threads");
+            }
+        };
+    }
+
+    /**
+     * Shuts the virtual-thread executor down. Tomcat does not stop executors
+     * it was given, and the web server is stopped before beans are destroyed.
+     */
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Returns a virtual-thread-per-task executor, or {@code null} before
+     * Java 21, where virtual threads are missing or a preview feature.
+     */
+    static ExecutorService virtualThreadExecutor() {
+        if (Runtime.version().feature() < 21) {
+            return null;
+        }
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            return null;
+        }
+    }
+}
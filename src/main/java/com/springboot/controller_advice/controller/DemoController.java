@@ -1,39 +1,118 @@
 package com.springboot.controller_advice.controller;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
 import org.springframework.http.HttpStatus; // Imports the HttpStatus enumeration for specifying HTTP status codes.
 import org.springframework.http.ResponseEntity; // Imports the ResponseEntity class for returning HTTP responses.
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*; // Imports annotations for mapping HTTP requests to controller methods.
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.springboot.controller_advice.dto.ItemDto;
+import com.springboot.controller_advice.dto.ItemPageDto;
 import com.springboot.controller_advice.dto.UserDto;
+import com.springboot.controller_advice.exception.InvalidRequestException;
+import com.springboot.controller_advice.exception.ItemConflictException;
+import com.springboot.controller_advice.exception.ItemNotFoundException;
+import com.springboot.controller_advice.store.ItemStore;
 
 import jakarta.validation.Valid;
 
-import java.util.HashMap; // Imports the HashMap class for managing key-value pairs.
-import java.util.Map; // Imports the Map interface for working with mappings.
-import java.util.Optional; // Imports the Optional class to handle nullable return values.
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
 
 @CrossOrigin 
 @RestController // Indicates that this class serves as a RESTful controller.
 @RequestMapping("/api") // Specifies that all endpoints in this controller will be prefixed with "/api".
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET) // The reactive stack has its own.
 public class DemoController {
 
-    private Map<Integer, String> dataStore = new HashMap<>(); // A simple in-memory data store using a map.
+    private static final int MAX_PAGE_SIZE = 1000; // Upper bound for the page size of the item listing.
+    private static final int EXPORT_PAGE_SIZE = 256; // Number of items the export reads from the store at once.
+    private static final String NDJSON = "application/x-ndjson"; // Media type of the streaming export.
+    private static final String SMILE = "application/x-jackson-smile"; // Binary JSON encoding, like CBOR.
 
-    @GetMapping("/items") // Maps HTTP GET requests to /api/items/{id} to this method.
-    public ResponseEntity<String> getItems() {
+    private final ItemStore dataStore; // The shared, thread-safe item store.
+    private final ObjectMapper objectMapper; // Writes the streaming export.
 
-        String e = "e";
+    public DemoController(ItemStore dataStore, ObjectMapper objectMapper) {
+        this.dataStore = dataStore;
+        this.objectMapper = objectMapper;
+    }
 
-        // Checks if the item is present; if not, returns a 404 Not Found response.
-        return new ResponseEntity<String>(e, HttpStatus.OK);
+    /**
+     * Handles GET requests to list the stored resources, one page at a time.
+     *
+     * @param limit  the maximum number of resources on the page (1 to 1000)
+     * @param cursor the cursor returned with the previous page; omitted for the first page
+     * @return ResponseEntity containing the page and the cursor of the next page
+     * @throws InvalidRequestException if the limit is out of range or the cursor is invalid
+     * 
+     *         Example curl command:
+     *         curl -X GET "http://localhost:8080/api/items?limit=50&cursor=AAAAAAAAAEA"
+     */
+    @GetMapping("/items") // Maps HTTP GET requests to /api/items to this method.
+    public ResponseEntity<ItemPageDto> getItems(@RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String cursor) {
+        // Rejects page sizes outside the supported range with a 400 Bad Request.
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        List<ItemDto> items = new ArrayList<>(limit);
+        // Reads only the requested page from the store, starting where the previous page ended.
+        long next = dataStore.scan(ItemCursor.decode(cursor), limit, (id, value) -> items.add(new ItemDto(id, value)));
+        return ResponseEntity.ok(new ItemPageDto(items, ItemCursor.encode(next)));
+    }
+
+    /**
+     * Handles GET requests to export every stored resource as newline-delimited
+     * JSON. The store is read {@value #EXPORT_PAGE_SIZE} items at a time and
+     * each page is written to the response before the next one is read, so
+     * memory use does not depend on the number of items.
+     *
+     * @return ResponseEntity streaming one {"id":...,"value":...} object per line
+     * 
+     *         Example curl command:
+     *         curl -X GET http://localhost:8080/api/items/export
+     */
+    @GetMapping(value = "/items/export", produces = NDJSON) // Maps HTTP GET requests to /api/items/export to this method.
+    public ResponseEntity<StreamingResponseBody> exportItems() {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET); // Spring completes the response.
+                generator.setRootValueSeparator(null); // Each item ends with its own newline instead.
+                long cursor = ItemStore.FIRST_PAGE;
+                while (cursor != ItemStore.END_OF_SCAN) {
+                    cursor = dataStore.scan(cursor, EXPORT_PAGE_SIZE, (id, value) -> {
+                        try {
+                            generator.writeStartObject();
+                            generator.writeNumberField("id", id);
+                            generator.writeStringField("value", value);
+                            generator.writeEndObject();
+                            generator.writeRaw('\n');
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                    });
+                }
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause(); // The client went away; stops the iteration.
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
     }
 
     /**
      * Handles GET requests to retrieve a resource by ID.
      *
      * @param id the ID of the resource to retrieve
-     * @return ResponseEntity containing the resource or a not found error
+     * @return ResponseEntity containing the resource
+     * @throws ItemNotFoundException if the resource does not exist
      * 
      *         Example curl command:
      *         curl -X GET http://localhost:8080/api/items/1
@@ -41,11 +120,34 @@ public class DemoController {
     @GetMapping("/items/{id}") // Maps HTTP GET requests to /api/items/{id} to this method.
     public ResponseEntity<String> getItem(@PathVariable int id) {
         // Retrieves the item from the data store by ID.
-        Optional<String> item = Optional.ofNullable(dataStore.get(id));
+        String item = dataStore.get(id);
+
+        // Checks if the item is present; if not, the advice answers with 404 Not Found.
+        if (item == null) {
+            throw new ItemNotFoundException(id);
+        }
+        return ResponseEntity.ok(item); // Returns 200 OK with the item if found.
+    }
 
-        // Checks if the item is present; if not, returns a 404 Not Found response.
-        return item.map(ResponseEntity::ok) // Returns 200 OK with the item if found.
-                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body("Item not found"));
+    /**
+     * Handles GET requests to retrieve a resource by ID in a binary encoding.
+     * Callers that accept CBOR or Smile get the {id, value} object instead of
+     * the plain-text value; errors are encoded the same way.
+     *
+     * @param id the ID of the resource to retrieve
+     * @return ResponseEntity containing the resource
+     * @throws ItemNotFoundException if the resource does not exist
+     * 
+     *         Example curl command:
+     *         curl -X GET http://localhost:8080/api/items/1 -H "Accept: application/cbor"
+     */
+    @GetMapping(value = "/items/{id}", produces = { MediaType.APPLICATION_CBOR_VALUE, SMILE })
+    public ResponseEntity<ItemDto> getItemEncoded(@PathVariable int id) {
+        String item = dataStore.get(id);
+        if (item == null) {
+            throw new ItemNotFoundException(id);
+        }
+        return ResponseEntity.ok(new ItemDto(id, item));
     }
 
     /**
@@ -53,20 +155,19 @@ public class DemoController {
      *
      * @param id    the ID of the new resource
      * @param value the value of the new resource
-     * @return ResponseEntity containing a success message or a conflict error
+     * @return ResponseEntity containing a success message
+     * @throws ItemConflictException if a resource with the ID already exists
      * 
      *         Example curl command:
      *         curl -X POST http://localhost:8080/api/items -d "id=1&value=SampleItem"
      */
     @PostMapping("/items") // Maps HTTP POST requests to /api/items to this method.
     public ResponseEntity<String> createItem(@Valid @RequestBody UserDto value) {
-        // Checks if the item already exists in the data store.
-        if (dataStore.containsKey(value.getId())) {
-            // Returns a 409 Conflict status if the item already exists.
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("Item already exists");
+        // Adds the new item in a single atomic step, so concurrent creates cannot both succeed.
+        if (!dataStore.putIfAbsent(value.getId(), value.getFirstName())) {
+            // Answered with a 409 Conflict status if the item already exists.
+            throw new ItemConflictException(value.getId());
         }
-        // Adds the new item to the data store.
-        dataStore.put(value.getId(), value.getFirstName());
         // Returns a 201 Created status with a success message.
         return ResponseEntity.status(HttpStatus.CREATED).body("Item created successfully");
     }
@@ -76,20 +177,19 @@ public class DemoController {
      *
      * @param id    the ID of the resource to update
      * @param value the new value for the resource
-     * @return ResponseEntity containing a success message or a not found error
+     * @return ResponseEntity containing a success message
+     * @throws ItemNotFoundException if the resource does not exist
      * 
      *         Example curl command:
      *         curl -X PUT http://localhost:8080/api/items/1 -d "value=Updated Item"
      */
     @PutMapping("/items/{id}") // Maps HTTP PUT requests to /api/items/{id} to this method.
     public ResponseEntity<String> updateItem(@PathVariable int id, @RequestParam String value) {
-        // Checks if the item exists in the data store.
-        if (!dataStore.containsKey(id)) {
-            // Returns a 404 Not Found status if the item does not exist.
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Item not found");
+        // Updates the item only if it exists, in a single atomic step.
+        if (!dataStore.replace(id, value)) {
+            // Answered with a 404 Not Found status if the item does not exist.
+            throw new ItemNotFoundException(id);
         }
-        // Updates the item in the data store with the new value.
-        dataStore.put(id, value);
         // Returns a 200 OK status with a success message.
         return ResponseEntity.ok("Item updated successfully");
     }
@@ -98,20 +198,19 @@ public class DemoController {
      * Handles DELETE requests to remove a resource by ID.
      *
      * @param id the ID of the resource to delete
-     * @return ResponseEntity containing a success message or a not found error
+     * @return ResponseEntity containing a success message
+     * @throws ItemNotFoundException if the resource does not exist
      * 
      *         Example curl command:
      *         curl -X DELETE http://localhost:8080/api/items/1
      */
     @DeleteMapping("/items/{id}") // Maps HTTP DELETE requests to /api/items/{id} to this method.
     public ResponseEntity<String> deleteItem(@PathVariable int id) {
-        // Checks if the item exists in the data store.
-        if (!dataStore.containsKey(id)) {
-            // Returns a 404 Not Found status if the item does not exist.
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Item not found");
+        // Removes the item in a single atomic step; a null result means it did not exist.
+        if (dataStore.remove(id) == null) {
+            // Answered with a 404 Not Found status if the item does not exist.
+            throw new ItemNotFoundException(id);
         }
-        // Removes the item from the data store.
-        dataStore.remove(id);
         // Returns a 200 OK status with a success message.
         return ResponseEntity.ok("Item deleted successfully");
     }
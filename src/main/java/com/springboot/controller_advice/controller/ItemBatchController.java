@@ -0,0 +1,267 @@
+package com.springboot.controller_advice.controller;
+
+import java.io.IOException; // Imports IOException, thrown when the request body cannot be read.
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+import org.springframework.web.bind.annotation.*; // Imports annotations for mapping HTTP requests to controller methods.
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.springboot.controller_advice.dto.BatchItemStatus;
+import com.springboot.controller_advice.dto.BatchResultDto;
+import com.springboot.controller_advice.dto.ItemDto;
+import com.springboot.controller_advice.config.BatchProperties;
+import com.springboot.controller_advice.dto.UserDto;
+import com.springboot.controller_advice.exception.InvalidFieldException;
+import com.springboot.controller_advice.store.ItemStore;
+
+@CrossOrigin
+@RestController // Indicates that this class serves as a RESTful controller.
+@RequestMapping("/api") // Specifies that all endpoints in this controller will be prefixed with "/api".
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET) // Not offered by the reactive stack.
+public class ItemBatchController {
+
+    private static final String NDJSON = "application/x-ndjson"; // Media type of newline-delimited JSON bodies.
+    private static final int CHUNK_SIZE = 256; // Number of valid items handed to the store at once.
+
+    private final ItemStore dataStore; // The shared, thread-safe item store.
+    private final ObjectReader userReader; // Reads UserDto values one at a time from the request body.
+    private final ObjectReader itemReader; // Reads ItemDto values for batch updates.
+    private final ObjectReader idReader; // Reads item IDs for batch deletes.
+    private final Validator validator; // The validator Spring MVC applies to @Valid arguments, per app.validation.mode.
+    private final int maxItems; // Largest number of items in one batch.
+
+    public ItemBatchController(ItemStore dataStore, ObjectMapper objectMapper,
+            @Qualifier("mvcValidator") Validator validator, BatchProperties properties) {
+        this.dataStore = dataStore;
+        this.userReader = objectMapper.readerFor(UserDto.class);
+        this.itemReader = objectMapper.readerFor(ItemDto.class);
+        this.idReader = objectMapper.readerFor(Integer.class);
+        this.validator = validator;
+        this.maxItems = properties.getMaxItems();
+    }
+
+    /**
+     * Handles POST requests to create many resources at once.
+     *
+     * The body is either a JSON array of items or newline-delimited JSON. Items
+     * are read, validated and inserted as they stream in, in chunks of
+     * {@value #CHUNK_SIZE}, so the request body is never held in memory as a
+     * whole. Each item gets its own result; a malformed item ends the batch
+     * with an {@code invalid} result, and the items before it stay created.
+     * Items are validated like the body of a single create, following
+     * {@code app.validation.mode}.
+     *
+     * A batch may hold at most {@code app.batch.max-items} items. When a body
+     * has more, the first ones are applied and reported as usual, and the
+     * results end with a {@code truncated} marker in place of the rest, which
+     * is not read.
+     *
+     * @param body the request body
+     * @return ResponseEntity containing one result per item, in request order
+     *
+     *         Example curl command:
+     *         curl -X POST http://localhost:8080/api/items/batch -H "Content-Type: application/json"
+     *         -d '[{"id":1,"firstName":"Alice"},{"id":2,"firstName":"Bob"}]'
+     */
+    @PostMapping(value = "/items/batch", consumes = { MediaType.APPLICATION_JSON_VALUE, NDJSON })
+    public ResponseEntity<List<BatchResultDto>> createItems(InputStream body) throws IOException {
+        Chunk chunk = new Chunk((ids, values, count) -> dataStore.putIfAbsentAll(ids, values, count),
+                BatchItemStatus.CREATED, BatchItemStatus.CONFLICT);
+        return ResponseEntity.ok(process(body, userReader, this::userEntry, chunk));
+    }
+
+    /**
+     * Handles PUT requests to update many existing resources at once.
+     *
+     * The body is a JSON array, or newline-delimited JSON, of {@code {id, value}}
+     * objects, processed like the body of {@link #createItems(InputStream)}.
+     * Items that do not exist are reported as {@code not_found} and are not created.
+     *
+     * @param body the request body
+     * @return ResponseEntity containing one result per item, in request order
+     *
+     *         Example curl command:
+     *         curl -X PUT http://localhost:8080/api/items/batch -H "Content-Type: application/json"
+     *         -d '[{"id":1,"value":"Alice"},{"id":2,"value":"Bob"}]'
+     */
+    @PutMapping(value = "/items/batch", consumes = { MediaType.APPLICATION_JSON_VALUE, NDJSON })
+    public ResponseEntity<List<BatchResultDto>> updateItems(InputStream body) throws IOException {
+        Chunk chunk = new Chunk((ids, values, count) -> dataStore.replaceAll(ids, values, count),
+                BatchItemStatus.UPDATED, BatchItemStatus.NOT_FOUND);
+        return ResponseEntity.ok(process(body, itemReader, this::itemEntry, chunk));
+    }
+
+    /**
+     * Handles DELETE requests to remove many resources at once.
+     *
+     * The body is a JSON array, or newline-delimited JSON, of item IDs,
+     * processed like the body of {@link #createItems(InputStream)}.
+     *
+     * @param body the request body
+     * @return ResponseEntity containing one result per ID, in request order
+     *
+     *         Example curl command:
+     *         curl -X DELETE http://localhost:8080/api/items/batch -H "Content-Type: application/json"
+     *         -d '[1,2,3]'
+     */
+    @DeleteMapping(value = "/items/batch", consumes = { MediaType.APPLICATION_JSON_VALUE, NDJSON })
+    public ResponseEntity<List<BatchResultDto>> deleteItems(InputStream body) throws IOException {
+        Chunk chunk = new Chunk((ids, values, count) -> dataStore.removeAll(ids, count),
+                BatchItemStatus.DELETED, BatchItemStatus.NOT_FOUND);
+        return ResponseEntity.ok(process(body, idReader, (Integer id) -> new Entry(id, null, null), chunk));
+    }
+
+    /**
+     * Reads the items of a batch body one at a time, validates them, and
+     * applies the valid ones to the store chunk by chunk.
+     */
+    private <T> List<BatchResultDto> process(InputStream body, ObjectReader reader, Function<T, Entry> toEntry,
+            Chunk chunk) throws IOException {
+        List<BatchResultDto> results = new ArrayList<>();
+        try (MappingIterator<T> items = reader.readValues(body)) {
+            while (true) {
+                int index = results.size();
+                T item;
+                try {
+                    if (!items.hasNextValue()) {
+                        break;
+                    }
+                    if (index == maxItems) {
+                        results.add(new BatchResultDto(index, null, BatchItemStatus.TRUNCATED,
+                                "A batch may contain at most " + maxItems + " items; the rest was not processed"));
+                        break;
+                    }
+                    item = items.nextValue();
+                } catch (InvalidFieldException ex) {
+                    // Rejected while parsing; the iterator skips the rest of the item, so the batch goes on.
+                    results.add(new BatchResultDto(index, null, BatchItemStatus.INVALID,
+                            ex.getField() + ": " + ex.getMessage()));
+                    continue;
+                } catch (JsonProcessingException ex) {
+                    // The parser cannot resume after malformed input, so the batch stops here.
+                    results.add(new BatchResultDto(index, null, BatchItemStatus.INVALID, "Malformed item"));
+                    break;
+                }
+                Entry entry = item == null ? new Entry(null, null, "Item must not be null") : toEntry.apply(item);
+                BatchResultDto result = new BatchResultDto(index, entry.id(),
+                        entry.violation() == null ? null : BatchItemStatus.INVALID, entry.violation());
+                results.add(result);
+                if (entry.violation() == null && chunk.add(entry, result)) {
+                    chunk.flush();
+                }
+            }
+        }
+        chunk.flush();
+        return results;
+    }
+
+    private Entry userEntry(UserDto item) {
+        return new Entry(item.getId(), item.getFirstName(), validate(item));
+    }
+
+    private Entry itemEntry(ItemDto item) {
+        String violation = null;
+        if (item.getId() == null) {
+            violation = "id: must not be null";
+        } else if (item.getValue() == null) {
+            violation = "value: must not be null";
+        }
+        return new Entry(item.getId(), item.getValue(), violation);
+    }
+
+    /**
+     * Validates one item, returning a description of its violations or
+     * {@code null} if it is valid. In fail-fast mode only the first violation
+     * is described.
+     */
+    private String validate(UserDto item) {
+        if (item.getId() == null) {
+            return "id: must not be null";
+        }
+        Errors errors = new BeanPropertyBindingResult(item, "item");
+        try {
+            validator.validate(item, errors);
+        } catch (InvalidFieldException ex) {
+            return ex.getField() + ": " + ex.getMessage();
+        }
+        if (!errors.hasErrors()) {
+            return null;
+        }
+        return errors.getFieldErrors().stream()
+                .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * One item of a batch: its ID, its value (absent for deletes), and a
+     * description of its violations, or {@code null} if it is valid.
+     */
+    private record Entry(Integer id, String value, String violation) {
+    }
+
+    /**
+     * The store call a chunk is applied with.
+     */
+    @FunctionalInterface
+    private interface BatchOperation {
+        boolean[] apply(int[] ids, String[] values, int count);
+    }
+
+    /**
+     * Collects valid items and applies them with a single store call, which
+     * lets a durable store share one fsync across the chunk.
+     */
+    private static final class Chunk {
+        final BatchOperation operation;
+        final BatchItemStatus applied; // Status of items the store call succeeded for.
+        final BatchItemStatus rejected; // Status of items it returned false for.
+        final int[] ids = new int[CHUNK_SIZE];
+        final String[] values = new String[CHUNK_SIZE];
+        final BatchResultDto[] results = new BatchResultDto[CHUNK_SIZE];
+        int size;
+
+        Chunk(BatchOperation operation, BatchItemStatus applied, BatchItemStatus rejected) {
+            this.operation = operation;
+            this.applied = applied;
+            this.rejected = rejected;
+        }
+
+        /**
+         * Adds an item and returns {@code true} once the chunk is full.
+         */
+        boolean add(Entry entry, BatchResultDto result) {
+            ids[size] = entry.id();
+            values[size] = entry.value();
+            results[size++] = result;
+            return size == CHUNK_SIZE;
+        }
+
+        void flush() {
+            if (size == 0) {
+                return;
+            }
+            boolean[] succeeded = operation.apply(ids, values, size);
+            for (int i = 0; i < size; i++) {
+                results[i].setStatus(succeeded[i] ? applied : rejected);
+                values[i] = null;
+                results[i] = null;
+            }
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.springboot.controller_advice.controller;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+import com.springboot.controller_advice.exception.InvalidRequestException;
+import com.springboot.controller_advice.store.ItemStore;
+
+/**
+ * Converts item store scan positions to the opaque cursor strings handed out
+ * by the listing endpoint, and back.
+ */
+final class ItemCursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private ItemCursor() {
+    }
+
+    /**
+     * Encodes a scan position, returning {@code null} once the scan is complete.
+     */
+    static String encode(long position) {
+        if (position == ItemStore.END_OF_SCAN) {
+            return null;
+        }
+        return ENCODER.encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(position).array());
+    }
+
+    /**
+     * Decodes a cursor string; a missing cursor starts at the first page.
+     *
+     * @throws InvalidRequestException if the cursor was not produced by {@link #encode(long)}
+     */
+    static long decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return ItemStore.FIRST_PAGE;
+        }
+        byte[] bytes;
+        try {
+            bytes = DECODER.decode(cursor);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+        if (bytes.length != Long.BYTES) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+        long position = ByteBuffer.wrap(bytes).getLong();
+        if (position < 0 || (int) position < 0) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+        return position;
+    }
+}
@@ -0,0 +1,182 @@
+package com.springboot.controller_advice.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*; // Imports annotations for mapping HTTP requests to controller methods.
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.springboot.controller_advice.dto.ItemDto;
+import com.springboot.controller_advice.dto.ItemPageDto;
+import com.springboot.controller_advice.dto.UserDto;
+import com.springboot.controller_advice.exception.InvalidRequestException;
+import com.springboot.controller_advice.exception.ItemConflictException;
+import com.springboot.controller_advice.exception.ItemNotFoundException;
+import com.springboot.controller_advice.store.ItemStore;
+
+import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * The item endpoints of {@link DemoController} for the reactive stack, with
+ * the same URIs, status codes and bodies. It is active when the application
+ * runs with {@code spring.main.web-application-type=reactive}, where errors
+ * are mapped by {@code ReactiveExceptionHandler}.
+ *
+ * Store calls run on the {@code itemStoreScheduler}: in place on the event
+ * loop for the in-memory stores, on a worker when the write-ahead log may
+ * block on fsync.
+ */
+@CrossOrigin
+@RestController // Indicates that this class serves as a RESTful controller.
+@RequestMapping("/api") // Specifies that all endpoints in this controller will be prefixed with "/api".
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemController {
+
+    private static final int MAX_PAGE_SIZE = 1000; // Upper bound for the page size of the item listing.
+    private static final int EXPORT_PAGE_SIZE = 256; // Number of items the export reads from the store at once.
+    private static final String NDJSON = "application/x-ndjson"; // Media type of the streaming export.
+    private static final String SMILE = "application/x-jackson-smile"; // Binary JSON encoding, like CBOR.
+
+    private final ItemStore dataStore; // The shared, thread-safe item store.
+    private final Scheduler storeScheduler; // Where store calls run.
+
+    public ReactiveItemController(ItemStore dataStore, @Qualifier("itemStoreScheduler") Scheduler storeScheduler) {
+        this.dataStore = dataStore;
+        this.storeScheduler = storeScheduler;
+    }
+
+    /**
+     * Handles GET requests to list the stored resources, one page at a time.
+     *
+     * @param limit  the maximum number of resources on the page (1 to 1000)
+     * @param cursor the cursor returned with the previous page; omitted for the first page
+     * @return the page and the cursor of the next page
+     */
+    @GetMapping("/items")
+    public Mono<ResponseEntity<ItemPageDto>> getItems(@RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String cursor) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return Mono.error(new InvalidRequestException("limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        return store(() -> {
+            List<ItemDto> items = new ArrayList<>(limit);
+            long next = dataStore.scan(ItemCursor.decode(cursor), limit, (id, value) -> items.add(new ItemDto(id, value)));
+            return ResponseEntity.ok(new ItemPageDto(items, ItemCursor.encode(next)));
+        });
+    }
+
+    /**
+     * Handles GET requests to export every stored resource as newline-delimited
+     * JSON. The store is read one page at a time as the client consumes the
+     * response, so neither memory use nor event-loop time depends on the
+     * number of items.
+     *
+     * @return one {"id":...,"value":...} object per line
+     */
+    @GetMapping(value = "/items/export", produces = NDJSON)
+    public Flux<ItemDto> exportItems() {
+        return exportPage(ItemStore.FIRST_PAGE)
+                .expand(page -> page.next() == ItemStore.END_OF_SCAN ? Mono.empty() : exportPage(page.next()))
+                .concatMapIterable(ExportPage::items);
+    }
+
+    private Mono<ExportPage> exportPage(long cursor) {
+        return store(() -> {
+            List<ItemDto> items = new ArrayList<>(EXPORT_PAGE_SIZE);
+            long next = dataStore.scan(cursor, EXPORT_PAGE_SIZE, (id, value) -> items.add(new ItemDto(id, value)));
+            return new ExportPage(items, next);
+        });
+    }
+
+    /**
+     * Handles GET requests to retrieve a resource by ID.
+     *
+     * @param id the ID of the resource to retrieve
+     * @return the resource, or an {@link ItemNotFoundException} if it does not exist
+     */
+    @GetMapping("/items/{id}")
+    public Mono<ResponseEntity<String>> getItem(@PathVariable int id) {
+        return store(() -> dataStore.get(id))
+                .switchIfEmpty(Mono.error(() -> new ItemNotFoundException(id)))
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Handles GET requests to retrieve a resource by ID in a binary encoding.
+     *
+     * @param id the ID of the resource to retrieve
+     * @return the resource, or an {@link ItemNotFoundException} if it does not exist
+     */
+    @GetMapping(value = "/items/{id}", produces = { MediaType.APPLICATION_CBOR_VALUE, SMILE })
+    public Mono<ResponseEntity<ItemDto>> getItemEncoded(@PathVariable int id) {
+        return store(() -> dataStore.get(id))
+                .switchIfEmpty(Mono.error(() -> new ItemNotFoundException(id)))
+                .map(item -> ResponseEntity.ok(new ItemDto(id, item)));
+    }
+
+    /**
+     * Handles POST requests to create a new resource.
+     *
+     * @param value the new resource, validated before the store is called
+     * @return a success message, or an {@link ItemConflictException} if the ID is taken
+     */
+    @PostMapping("/items")
+    public Mono<ResponseEntity<String>> createItem(@Valid @RequestBody UserDto value) {
+        return store(() -> dataStore.putIfAbsent(value.getId(), value.getFirstName()))
+                .flatMap(created -> created
+                        ? Mono.just(ResponseEntity.status(HttpStatus.CREATED).body("Item created successfully"))
+                        : Mono.error(new ItemConflictException(value.getId())));
+    }
+
+    /**
+     * Handles PUT requests to update an existing resource. As with the servlet
+     * controller, the value is read from the query string or a form body.
+     *
+     * @param id       the ID of the resource to update
+     * @param exchange the exchange that carries the value
+     * @return a success message, or an {@link ItemNotFoundException} if the resource does not exist
+     */
+    @PutMapping("/items/{id}")
+    public Mono<ResponseEntity<String>> updateItem(@PathVariable int id, ServerWebExchange exchange) {
+        return Mono.justOrEmpty(exchange.getRequest().getQueryParams().getFirst("value"))
+                .switchIfEmpty(exchange.getFormData().mapNotNull(form -> form.getFirst("value")))
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException("Required parameter 'value' is not present.")))
+                .flatMap(value -> store(() -> dataStore.replace(id, value)))
+                .flatMap(replaced -> replaced
+                        ? Mono.just(ResponseEntity.ok("Item updated successfully"))
+                        : Mono.error(new ItemNotFoundException(id)));
+    }
+
+    /**
+     * Handles DELETE requests to remove a resource by ID.
+     *
+     * @param id the ID of the resource to delete
+     * @return a success message, or an {@link ItemNotFoundException} if the resource does not exist
+     */
+    @DeleteMapping("/items/{id}")
+    public Mono<ResponseEntity<String>> deleteItem(@PathVariable int id) {
+        return store(() -> dataStore.remove(id))
+                .switchIfEmpty(Mono.error(() -> new ItemNotFoundException(id)))
+                .map(removed -> ResponseEntity.ok("Item deleted successfully"));
+    }
+
+    /**
+     * Calls the store on the store scheduler; a {@code null} result completes empty.
+     */
+    private <T> Mono<T> store(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(storeScheduler);
+    }
+
+    private record ExportPage(List<ItemDto> items, long next) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.springboot.controller_advice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Outcome of one item of a batch request.
+ */
+public enum BatchItemStatus {
+    @JsonProperty("created")
+    CREATED,
+    @JsonProperty("updated")
+    UPDATED,
+    @JsonProperty("deleted")
+    DELETED,
+    @JsonProperty("conflict")
+    CONFLICT,
+    @JsonProperty("not_found")
+    NOT_FOUND,
+    @JsonProperty("invalid")
+    INVALID,
+    /** The batch had more items than allowed; this item and the rest were not read. */
+    @JsonProperty("truncated")
+    TRUNCATED
+}
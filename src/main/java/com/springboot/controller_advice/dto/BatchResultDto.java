@@ -0,0 +1,24 @@
+package com.springboot.controller_advice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Result of one item of a batch request, in request order. {@code message}
+ * is only present for invalid items and the truncation marker.
+ */
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResultDto {
+    private int index;
+    private Integer id;
+    private BatchItemStatus status;
+    private String message;
+}
@@ -0,0 +1,54 @@
+package com.springboot.controller_advice.dto;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.springboot.controller_advice.time.CoarseClock;
+
+import lombok.Getter;
+
+/**
+ * Immutable body of an error response.
+ *
+ * The status and error text come from a shared {@link ErrorTemplate}; the
+ * timestamp, message, field errors, request path and route vary per
+ * response. It is written by {@link ErrorResponseSerializer} as
+ * {@code {timestamp, status, error, message, errors, path, route}}, where
+ * {@code errors} is only present for validation failures and {@code route}
+ * only when the request matched a handler.
+ */
+@Getter
+@JsonSerialize(using = ErrorResponseSerializer.class)
+public final class ErrorResponse {
+    private final ErrorTemplate template;
+    private final CoarseClock.Timestamp timestamp;
+    private final String message;
+    private final Map<String, String> errors; // Field name to message, or null.
+    private final String path; // The request URI.
+    private final String route; // The matched route template, such as /api/items/{id}, or null.
+
+    public ErrorResponse(CoarseClock.Timestamp timestamp, ErrorTemplate template, String message, String path,
+            String route) {
+        this(timestamp, template, message, null, path, route);
+    }
+
+    public ErrorResponse(CoarseClock.Timestamp timestamp, ErrorTemplate template, String message,
+            Map<String, String> errors, String path, String route) {
+        this.template = template;
+        this.timestamp = timestamp;
+        this.message = message;
+        this.errors = errors == null ? null : Collections.unmodifiableMap(errors);
+        this.path = path;
+        this.route = route;
+    }
+
+    /**
+     * Wraps this response in a ResponseEntity with the template's status.
+     */
+    public ResponseEntity<ErrorResponse> toResponseEntity() {
+        return ResponseEntity.status(template.getStatus()).body(this);
+    }
+}
@@ -0,0 +1,82 @@
+package com.springboot.controller_advice.dto;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Writes an {@link ErrorResponse} without reflection, using pre-encoded field
+ * names, template values and routes.
+ *
+ * It only uses the generic {@link JsonGenerator} API, so it works with binary
+ * formats as well as JSON. The timestamp is pre-formatted by the
+ * {@link com.springboot.controller_advice.time.CoarseClock}. Routes are
+ * the fixed set of mapped patterns, so each is encoded once and then reused;
+ * the request path is encoded per response.
+ */
+public class ErrorResponseSerializer extends StdSerializer<ErrorResponse> {
+
+    private static final SerializedString TIMESTAMP = ErrorTemplate.encoded("timestamp");
+    private static final SerializedString STATUS = ErrorTemplate.encoded("status");
+    private static final SerializedString ERROR = ErrorTemplate.encoded("error");
+    private static final SerializedString MESSAGE = ErrorTemplate.encoded("message");
+    private static final SerializedString ERRORS = ErrorTemplate.encoded("errors");
+    private static final SerializedString PATH = ErrorTemplate.encoded("path");
+    private static final SerializedString ROUTE = ErrorTemplate.encoded("route");
+    private static final int MAX_CACHED_ROUTES = 1024;
+
+    private static final Map<String, SerializedString> ROUTES = new ConcurrentHashMap<>();
+
+    public ErrorResponseSerializer() {
+        super(ErrorResponse.class);
+    }
+
+    @Override
+    public void serialize(ErrorResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        ErrorTemplate template = value.getTemplate();
+        gen.writeStartObject(value);
+        gen.writeFieldName(TIMESTAMP);
+        gen.writeString(value.getTimestamp().encoded());
+        gen.writeFieldName(STATUS);
+        gen.writeNumber(template.getStatus().value());
+        gen.writeFieldName(ERROR);
+        gen.writeString(template.encodedError());
+        gen.writeFieldName(MESSAGE);
+        if (value.getMessage() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value.getMessage());
+        }
+        if (value.getErrors() != null) {
+            gen.writeFieldName(ERRORS);
+            gen.writeStartObject();
+            for (Map.Entry<String, String> error : value.getErrors().entrySet()) {
+                gen.writeStringField(error.getKey(), error.getValue());
+            }
+            gen.writeEndObject();
+        }
+        gen.writeFieldName(PATH);
+        gen.writeString(value.getPath());
+        if (value.getRoute() != null) {
+            gen.writeFieldName(ROUTE);
+            gen.writeString(encodedRoute(value.getRoute()));
+        }
+        gen.writeEndObject();
+    }
+
+    private static SerializedString encodedRoute(String route) {
+        SerializedString encoded = ROUTES.get(route);
+        if (encoded == null) {
+            encoded = ErrorTemplate.encoded(route);
+            if (ROUTES.size() < MAX_CACHED_ROUTES) {
+                ROUTES.putIfAbsent(route, encoded);
+            }
+        }
+        return encoded;
+    }
+}
@@ -0,0 +1,55 @@
+package com.springboot.controller_advice.dto;
+
+import org.springframework.http.HttpStatus;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+
+/**
+ * The constant part of an {@link ErrorResponse}: its HTTP status and error
+ * text. The text is JSON-encoded once, when the template is created, so
+ * writing a response only encodes its variable fields.
+ */
+public final class ErrorTemplate {
+
+    public static final ErrorTemplate VALIDATION_ERROR = new ErrorTemplate(HttpStatus.BAD_REQUEST,
+            "Validation Error");
+    public static final ErrorTemplate BAD_REQUEST = new ErrorTemplate(HttpStatus.BAD_REQUEST, "Bad Request");
+    public static final ErrorTemplate NOT_FOUND = new ErrorTemplate(HttpStatus.NOT_FOUND, "Not Found");
+    public static final ErrorTemplate CONFLICT = new ErrorTemplate(HttpStatus.CONFLICT, "Conflict");
+    public static final ErrorTemplate INTERNAL_SERVER_ERROR = new ErrorTemplate(HttpStatus.INTERNAL_SERVER_ERROR,
+            "Internal Server Error");
+    public static final ErrorTemplate SERVICE_UNAVAILABLE = new ErrorTemplate(HttpStatus.SERVICE_UNAVAILABLE,
+            "Service Unavailable");
+
+    private final HttpStatus status;
+    private final SerializedString error;
+
+    public ErrorTemplate(HttpStatus status, String error) {
+        this.status = status;
+        this.error = encoded(error);
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public String getError() {
+        return error.getValue();
+    }
+
+    SerializedString encodedError() {
+        return error;
+    }
+
+    /**
+     * Creates a serialized string and fills its caches, so generators never
+     * have to encode it again.
+     */
+    static SerializedString encoded(String value) {
+        SerializedString serialized = new SerializedString(value);
+        serialized.asQuotedChars();
+        serialized.asQuotedUTF8();
+        serialized.asUnquotedUTF8();
+        return serialized;
+    }
+}
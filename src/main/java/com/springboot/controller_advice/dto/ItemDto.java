@@ -0,0 +1,15 @@
+package com.springboot.controller_advice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemDto {
+    private Integer id;
+    private String value;
+}
@@ -0,0 +1,21 @@
+package com.springboot.controller_advice.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One page of items. {@code nextCursor} is passed back to fetch the next page
+ * and is {@code null} on the last page.
+ */
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemPageDto {
+    private List<ItemDto> items;
+    private String nextCursor;
+}
@@ -1,5 +1,7 @@
 package com.springboot.controller_advice.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -11,7 +13,9 @@ import lombok.Setter;
 @Getter
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonDeserialize(using = UserDtoDeserializer.class)
 public class UserDto {
+    @NotNull
     private Integer id;
     @NotNull
     @Size(min = 4, max = 15)
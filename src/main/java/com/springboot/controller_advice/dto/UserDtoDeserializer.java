@@ -0,0 +1,81 @@
+package com.springboot.controller_advice.dto;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.springboot.controller_advice.exception.InvalidFieldException;
+
+import jakarta.validation.constraints.Size;
+
+/**
+ * Reads a {@link UserDto} straight from the token stream, without the
+ * property lookups and setter calls of Jackson's bean deserializer.
+ *
+ * A string value is only turned into a {@code String} after its length has
+ * been checked against the field's {@code @Size} maximum. The parser decodes
+ * it into its text buffer, which Jackson recycles per thread, so a value that
+ * is too long is rejected with an {@link InvalidFieldException} without a
+ * {@code String} or its copies ever being created. Every other constraint,
+ * including the {@code @Size} minimum, is still checked by validation.
+ * Unknown properties and coercions are handled as the bean deserializer
+ * handles them.
+ */
+public class UserDtoDeserializer extends StdDeserializer<UserDto> {
+
+    private static final Size FIRST_NAME_SIZE = sizeOf("firstName"); // Null if the field has no @Size.
+    private static final Size LAST_NAME_SIZE = sizeOf("lastName");
+
+    public UserDtoDeserializer() {
+        super(UserDto.class);
+    }
+
+    @Override
+    public UserDto deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = p.nextToken();
+        } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            return (UserDto) ctxt.handleUnexpectedToken(UserDto.class, p);
+        }
+        UserDto user = new UserDto();
+        for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String name = p.currentName();
+            p.nextToken();
+            switch (name) {
+                case "id" -> user.setId(
+                        p.hasToken(JsonToken.VALUE_NULL) ? null : _parseInteger(p, ctxt, Integer.class));
+                case "firstName" -> user.setFirstName(readString(p, ctxt, name, FIRST_NAME_SIZE));
+                case "lastName" -> user.setLastName(readString(p, ctxt, name, LAST_NAME_SIZE));
+                default -> ctxt.handleUnknownProperty(p, this, UserDto.class, name);
+            }
+        }
+        return user;
+    }
+
+    /**
+     * Reads a string value, rejecting it before it is allocated if it is
+     * longer than the field's {@code @Size} allows.
+     */
+    private String readString(JsonParser p, DeserializationContext ctxt, String field, Size size)
+            throws IOException {
+        if (p.hasToken(JsonToken.VALUE_NULL)) {
+            return null;
+        }
+        if (size != null && p.hasToken(JsonToken.VALUE_STRING) && p.getTextLength() > size.max()) {
+            // Same text as the default @Size message, so clients see one error whichever check fails.
+            throw new InvalidFieldException(field, "size must be between " + size.min() + " and " + size.max());
+        }
+        return _parseString(p, ctxt, this);
+    }
+
+    private static Size sizeOf(String field) {
+        try {
+            return UserDto.class.getDeclaredField(field).getAnnotation(Size.class);
+        } catch (NoSuchFieldException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
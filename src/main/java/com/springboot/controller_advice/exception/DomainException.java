@@ -0,0 +1,17 @@
+package com.springboot.controller_advice.exception;
+
+/**
+ * Base class of the exceptions that report expected outcomes of a request,
+ * such as a missing item or invalid input, and are turned into error
+ * responses by the global exception handler.
+ *
+ * These exceptions are part of normal control flow, so they do not capture a
+ * stack trace or support suppressed exceptions: creating one costs about as
+ * much as any other small object, however deep the call stack is.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+}
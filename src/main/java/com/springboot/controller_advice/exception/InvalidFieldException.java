@@ -0,0 +1,20 @@
+package com.springboot.controller_advice.exception;
+
+/**
+ * Thrown by fail-fast validation for the first field of a request body that
+ * violates a constraint; answered with 400 and the field's error, like a
+ * regular validation failure.
+ */
+public class InvalidFieldException extends DomainException {
+
+    private final String field;
+
+    public InvalidFieldException(String field, String message) {
+        super(message);
+        this.field = field;
+    }
+
+    public String getField() {
+        return field;
+    }
+}
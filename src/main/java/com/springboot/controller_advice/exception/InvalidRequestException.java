@@ -0,0 +1,12 @@
+package com.springboot.controller_advice.exception;
+
+/**
+ * Thrown when request parameters are outside their valid range or cannot be
+ * parsed; answered with 400 Bad Request.
+ */
+public class InvalidRequestException extends DomainException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.springboot.controller_advice.exception;
+
+/**
+ * Thrown when a request tries to create an item that already exists; answered
+ * with 409 Conflict.
+ */
+public class ItemConflictException extends DomainException {
+
+    private final int id;
+
+    public ItemConflictException(int id) {
+        super("Item already exists");
+        this.id = id;
+    }
+
+    public int getId() {
+        return id;
+    }
+}
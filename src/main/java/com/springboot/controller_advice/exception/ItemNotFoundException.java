@@ -0,0 +1,19 @@
+package com.springboot.controller_advice.exception;
+
+/**
+ * Thrown when a request refers to an item that does not exist; answered with
+ * 404 Not Found.
+ */
+public class ItemNotFoundException extends DomainException {
+
+    private final int id;
+
+    public ItemNotFoundException(int id) {
+        super("Item not found");
+        this.id = id;
+    }
+
+    public int getId() {
+        return id;
+    }
+}
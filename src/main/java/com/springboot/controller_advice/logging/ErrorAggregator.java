@@ -0,0 +1,245 @@
+package com.springboot.controller_advice.logging;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+
+/**
+ * Logs unexpected exceptions without flooding the log when the same error
+ * repeats for every request.
+ *
+ * Each exception is reduced to a fingerprint: its class, its top
+ * {@value #TOP_FRAMES} stack frames, and its message with every run of
+ * digits replaced by {@code #}, so IDs and sizes do not make otherwise equal
+ * errors distinct. The first exception with a fingerprint is logged in full,
+ * with its stack trace, or as a one-line warning if it was the client's fault
+ * (see {@link #recordClientError(Throwable)}). Repeats are only counted, and {@link #flush()} logs
+ * one summary line per fingerprint that repeated since the previous flush.
+ * A fingerprint that did not repeat for a whole window is forgotten, so its
+ * next occurrence is logged in full again. A storm therefore costs log I/O
+ * per distinct error and window, not per request.
+ *
+ * At most {@code maxFingerprints} errors are tracked at once; exceptions with
+ * new fingerprints beyond that are only counted, and reported by the next
+ * flush.
+ */
+public class ErrorAggregator implements Closeable {
+
+    static final int TOP_FRAMES = 3;
+
+    private final Logger log;
+    private final Duration window;
+    private final int maxFingerprints;
+    private final Map<String, Fingerprint> fingerprints = new ConcurrentHashMap<>();
+    private final LongAdder untracked = new LongAdder();
+    private ScheduledExecutorService flusher;
+
+    /**
+     * @param log             where errors and summaries are written
+     * @param window          how often repeats are summarized
+     * @param maxFingerprints the number of distinct errors tracked at once
+     */
+    public ErrorAggregator(Logger log, Duration window, int maxFingerprints) {
+        this.log = log;
+        this.window = window;
+        this.maxFingerprints = maxFingerprints;
+    }
+
+    /**
+     * Records one occurrence of an exception, logging it if its fingerprint
+     * is new. Safe to call from any number of threads; repeats of a known
+     * error only update a counter.
+     */
+    public void record(Throwable exception) {
+        record(exception, true);
+    }
+
+    /**
+     * Records one occurrence of an exception that was answered with a client
+     * error, such as an unreadable request body. Works like
+     * {@link #record(Throwable)}, but a new fingerprint is logged at WARN
+     * without the stack trace, since the request rather than the server is at fault.
+     */
+    public void recordClientError(Throwable exception) {
+        record(exception, false);
+    }
+
+    private void record(Throwable exception, boolean serverError) {
+        String key = fingerprint(exception);
+        while (true) {
+            Fingerprint fingerprint = fingerprints.get(key);
+            if (fingerprint == null) {
+                if (fingerprints.size() >= maxFingerprints) {
+                    untracked.increment();
+                    return;
+                }
+                Fingerprint created = new Fingerprint(summary(exception));
+                if (fingerprints.putIfAbsent(key, created) == null) {
+                    if (serverError) {
+                        log.error("{} (repeats are summarized every {})", created.summary, window, exception);
+                    } else {
+                        log.warn("{} (repeats are summarized every {})", created.summary, window);
+                    }
+                    return;
+                }
+            } else if (fingerprint.increment()) {
+                return;
+            } else {
+                fingerprints.remove(key, fingerprint); // Forgotten by a concurrent flush.
+            }
+        }
+    }
+
+    /**
+     * Logs one line per error that repeated since the last flush, and forgets
+     * errors that did not.
+     */
+    public void flush() {
+        for (Map.Entry<String, Fingerprint> entry : fingerprints.entrySet()) {
+            Fingerprint fingerprint = entry.getValue();
+            long repeats = fingerprint.drain();
+            if (repeats > 0) {
+                log.warn("{} occurred {} more times in the last {}", fingerprint.summary, repeats, window);
+            } else {
+                fingerprints.remove(entry.getKey(), fingerprint);
+            }
+        }
+        long dropped = untracked.sumThenReset();
+        if (dropped > 0) {
+            log.warn("{} errors were not logged because more than {} distinct errors occurred in the last {}",
+                    dropped, maxFingerprints, window);
+        }
+    }
+
+    /**
+     * Starts a background thread that calls {@link #flush()} once per window.
+     */
+    public synchronized void scheduleFlushes() {
+        if (flusher != null) {
+            throw new IllegalStateException("Flushes are already scheduled");
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "error-aggregator-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long nanos = window.toNanos();
+        flusher.scheduleAtFixedRate(() -> {
+            try {
+                flush();
+            } catch (RuntimeException ex) {
+                // Keeps the schedule alive; the counts are reported by the next run.
+            }
+        }, nanos, nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops the background flushes and reports the remaining repeats.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (flusher != null) {
+                flusher.shutdownNow();
+            }
+        }
+        flush();
+    }
+
+    static String fingerprint(Throwable exception) {
+        StringBuilder key = new StringBuilder(160).append(exception.getClass().getName());
+        StackTraceElement[] frames = exception.getStackTrace();
+        for (int i = 0; i < Math.min(TOP_FRAMES, frames.length); i++) {
+            key.append('|').append(frames[i].getClassName()).append('.').append(frames[i].getMethodName())
+                    .append(':').append(frames[i].getLineNumber());
+        }
+        return appendTemplate(key.append('|'), exception.getMessage()).toString();
+    }
+
+    private static String summary(Throwable exception) {
+        StringBuilder summary = new StringBuilder(exception.getClass().getSimpleName()).append(": ");
+        appendTemplate(summary, exception.getMessage());
+        StackTraceElement[] frames = exception.getStackTrace();
+        if (frames.length > 0) {
+            summary.append(" at ").append(frames[0]);
+        }
+        return summary.toString();
+    }
+
+    /**
+     * Appends the message with every run of digits replaced by {@code #}.
+     */
+    private static StringBuilder appendTemplate(StringBuilder out, String message) {
+        if (message == null) {
+            return out.append("null");
+        }
+        boolean inDigits = false;
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (!inDigits) {
+                    out.append('#');
+                    inDigits = true;
+                }
+            } else {
+                out.append(c);
+                inDigits = false;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * One distinct error and the number of repeats since the last flush.
+     */
+    private static final class Fingerprint {
+        final String summary;
+        // Repeats since the last flush, or -1 once the fingerprint has been forgotten.
+        final AtomicLong repeats = new AtomicLong();
+
+        Fingerprint(String summary) {
+            this.summary = summary;
+        }
+
+        /**
+         * Counts a repeat, or returns {@code false} if the fingerprint was forgotten.
+         */
+        boolean increment() {
+            while (true) {
+                long current = repeats.get();
+                if (current < 0) {
+                    return false;
+                }
+                if (repeats.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Returns and resets the repeat count, forgetting the fingerprint if it is zero.
+         */
+        long drain() {
+            while (true) {
+                long current = repeats.get();
+                if (current == 0 && repeats.compareAndSet(0, -1)) {
+                    return 0;
+                }
+                if (current > 0 && repeats.compareAndSet(current, 0)) {
+                    return current;
+                }
+                if (current < 0) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.springboot.controller_advice.logging;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.springboot.controller_advice.time.CoarseClock;
+
+/**
+ * Appends every {@link ErrorEvent} to a newline-delimited JSON file without
+ * doing any I/O on the threads that report them.
+ *
+ * {@link #publish(ErrorEvent)} puts the event into a bounded, lock-free
+ * {@link RingBuffer}. A single background thread drains the buffer in batches
+ * of up to {@value #BATCH_SIZE} events, writes each batch with one buffered
+ * write, and parks when the buffer is empty until the next publish wakes it.
+ * When the buffer is full, the {@link OverflowPolicy} decides whether the
+ * event is dropped or the reporting thread waits for space; dropped events
+ * are counted and the count is written to the file as a line of its own.
+ */
+public class ErrorAuditLog implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ErrorAuditLog.class);
+    private static final int BATCH_SIZE = 512;
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    public enum OverflowPolicy {
+        /** Discards the event and counts it; reporting never waits. */
+        DROP,
+        /** Waits until the writer has made room, so no event is lost. */
+        BLOCK
+    }
+
+    private final RingBuffer<ErrorEvent> buffer;
+    private final OverflowPolicy overflowPolicy;
+    private final CoarseClock clock;
+    private final LongAdder dropped = new LongAdder();
+    private final OutputStream out;
+    private final JsonGenerator generator;
+    private final Thread writer;
+    private final AtomicBoolean idle = new AtomicBoolean(); // Set while the writer is about to park or parked.
+    private volatile boolean closed;
+
+    /**
+     * Opens the audit file, creating it if needed, and starts the writer thread.
+     *
+     * @param file           the file events are appended to
+     * @param capacity       the number of events that can wait to be written
+     * @param overflowPolicy what happens to events reported while the buffer is full
+     * @param clock          timestamps the lines that report dropped events
+     * @throws UncheckedIOException if the file cannot be opened
+     */
+    public ErrorAuditLog(Path file, int capacity, OverflowPolicy overflowPolicy, CoarseClock clock) {
+        this.buffer = new RingBuffer<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.clock = clock;
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            this.out = new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND, StandardOpenOption.WRITE), 1 << 16);
+            this.generator = new JsonFactory().createGenerator(out);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not open error audit log " + file, ex);
+        }
+        generator.setRootValueSeparator(null); // Each event ends with its own newline instead.
+        this.writer = new Thread(this::writeLoop, "error-audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Hands an event to the writer thread. Never does I/O; with the
+     * {@link OverflowPolicy#BLOCK} policy it may wait while the buffer is full.
+     */
+    public void publish(ErrorEvent event) {
+        if (buffer.offer(event)) {
+            wakeWriter();
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            while (!closed) {
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                if (buffer.offer(event)) {
+                    wakeWriter();
+                    return;
+                }
+            }
+        }
+        dropped.increment();
+    }
+
+    /**
+     * Unparks the writer if it is waiting for an empty buffer to fill. Only
+     * the first publish after it went idle pays for the unpark.
+     */
+    private void wakeWriter() {
+        if (idle.get() && idle.compareAndSet(true, false)) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Returns the number of events dropped so far because the buffer was full.
+     */
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Writes the events that are still buffered, then stops the writer thread
+     * and closes the file. If the writer does not stop within 10 seconds, the
+     * file is left open rather than closed under the writer.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            LOG.warn("The error audit writer did not stop; leaving the audit file open");
+            return;
+        }
+        generator.close();
+    }
+
+    private void writeLoop() {
+        long reportedDrops = 0;
+        while (true) {
+            boolean closing = closed; // Read first, so the final drain sees everything published before close.
+            try {
+                int drained = buffer.drain(this::write, BATCH_SIZE);
+                long drops = dropped.sum();
+                boolean reportDrops = drops != reportedDrops;
+                if (reportDrops) {
+                    writeDropped(drops - reportedDrops);
+                    reportedDrops = drops;
+                }
+                if (drained > 0 || reportDrops) {
+                    generator.flush(); // One write per batch.
+                }
+                if (drained == BATCH_SIZE) {
+                    continue; // More may be waiting.
+                }
+            } catch (IOException | UncheckedIOException ex) {
+                LOG.warn("Could not write to the error audit log", ex);
+            }
+            if (closing) {
+                return;
+            }
+            idle.set(true);
+            // Checked after announcing idleness, so a publish either is seen here or sees the flag and unparks.
+            if (buffer.isEmpty() && dropped.sum() == reportedDrops && !closed) {
+                LockSupport.park(this);
+            }
+            idle.set(false);
+        }
+    }
+
+    private void write(ErrorEvent event) {
+        try {
+            generator.writeStartObject();
+            generator.writeFieldName("timestamp");
+            generator.writeString(event.timestamp().encoded());
+            generator.writeNumberField("status", event.status());
+            generator.writeStringField("error", event.error());
+            generator.writeStringField("exception", event.exception());
+            generator.writeStringField("message", event.message());
+            generator.writeStringField("path", event.path());
+            generator.writeStringField("route", event.route());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void writeDropped(long count) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName("timestamp");
+        generator.writeString(clock.now().encoded());
+        generator.writeNumberField("dropped", count);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+}
@@ -0,0 +1,18 @@
+package com.springboot.controller_advice.logging;
+
+import com.springboot.controller_advice.time.CoarseClock;
+
+/**
+ * One error response, as recorded in the audit log.
+ *
+ * @param timestamp the time the error was handled
+ * @param status    the HTTP status of the response
+ * @param error     the error text of the response
+ * @param exception the class name of the exception that caused it
+ * @param message   the message of the response
+ * @param path      the request URI
+ * @param route     the matched route template, or {@code null}
+ */
+public record ErrorEvent(CoarseClock.Timestamp timestamp, int status, String error, String exception,
+        String message, String path, String route) {
+}
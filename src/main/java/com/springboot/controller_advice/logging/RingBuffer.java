@@ -0,0 +1,105 @@
+package com.springboot.controller_advice.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded, lock-free queue for many producers and a single consumer.
+ *
+ * Each slot carries a sequence number that says whose turn it is: a producer
+ * claims the next position with one CAS once the slot's sequence shows it is
+ * free, stores the element, and publishes it by advancing the sequence; the
+ * consumer frees the slot by advancing it again by the capacity. Producers
+ * never wait for each other beyond a failed CAS, and a full buffer is
+ * reported instead of blocking.
+ *
+ * @param <E> the element type
+ */
+final class RingBuffer<E> {
+
+    private final int mask;
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong(); // Next position to claim; shared by producers.
+    private long head; // Next position to consume; only used by the consumer thread.
+
+    /**
+     * @param capacity the minimum number of elements; rounded up to a power of
+     *                 two, and to at least two, since with a single slot a
+     *                 published element would look like a free slot
+     */
+    RingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+        }
+        int size = Math.max(2, Integer.highestOneBit(capacity * 2 - 1));
+        this.mask = size - 1;
+        this.elements = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Adds an element unless the buffer is full. Safe to call from any thread.
+     *
+     * @return {@code false} if the buffer is full
+     */
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long available = sequences.get(index) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements[index] = element;
+                    sequences.set(index, position + 1); // Publishes the element to the consumer.
+                    return true;
+                }
+                position = tail.get();
+            } else if (available < 0) {
+                return false; // The consumer has not freed this slot yet.
+            } else {
+                position = tail.get(); // Another producer claimed it first.
+            }
+        }
+    }
+
+    /**
+     * Returns whether the next element to consume has not been published yet.
+     * Must only be called from the single consumer thread.
+     */
+    boolean isEmpty() {
+        return sequences.get((int) head & mask) != head + 1;
+    }
+
+    /**
+     * Passes up to {@code max} elements to the consumer, in the order they
+     * were claimed. Must only be called from the single consumer thread.
+     *
+     * @return the number of elements passed
+     */
+    @SuppressWarnings("unchecked")
+    int drain(Consumer<? super E> consumer, int max) {
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) head & mask;
+            if (sequences.get(index) != head + 1) {
+                break; // Empty, or the next producer has claimed the slot but not published yet.
+            }
+            E element = (E) elements[index];
+            elements[index] = null;
+            sequences.lazySet(index, head + elements.length); // Frees the slot for the next lap.
+            head++;
+            drained++;
+            consumer.accept(element);
+        }
+        return drained;
+    }
+}
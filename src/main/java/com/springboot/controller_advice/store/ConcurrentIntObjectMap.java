@@ -0,0 +1,211 @@
+package com.springboot.controller_advice.store;
+
+/**
+ * Concurrent hash map from primitive {@code int} keys to object values.
+ *
+ * Keys are never boxed and no per-entry node objects are allocated: each
+ * segment keeps its keys and values in two parallel arrays and resolves
+ * collisions with linear probing (see {@link SegmentedIntTable}). Writes lock
+ * a single segment, so writes to different IDs spread across segments; reads
+ * use optimistic stamps and only fall back to a read lock if a writer touched
+ * the segment mid-read.
+ *
+ * Null values are not supported, as {@code null} marks an empty slot.
+ *
+ * @param <V> the type of the mapped values
+ */
+public final class ConcurrentIntObjectMap<V> extends SegmentedIntTable<Object[], ConcurrentIntObjectMap.EntryConsumer<? super V>> {
+
+    /**
+     * Creates a map with four segments per available processor (rounded up to
+     * a power of two, at least 16).
+     */
+    public ConcurrentIntObjectMap() {
+        this(Math.max(16, Runtime.getRuntime().availableProcessors() * 4));
+    }
+
+    /**
+     * Creates a map with the given number of lock segments.
+     *
+     * @param concurrencyLevel the expected number of concurrently writing threads
+     */
+    public ConcurrentIntObjectMap(int concurrencyLevel) {
+        super(concurrencyLevel);
+    }
+
+    /**
+     * Returns the value mapped to the key, or {@code null} if there is none.
+     *
+     * @param key the key to look up
+     * @return the mapped value, or {@code null}
+     */
+    public V get(int key) {
+        int hash = hash(key);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            Object value = valueOf(segment.table, key, hash);
+            if (segment.lock.validate(stamp)) {
+                return cast(value);
+            }
+        }
+        // A writer raced with the optimistic read; retry under the read lock.
+        stamp = segment.lock.readLock();
+        try {
+            return cast(valueOf(segment.table, key, hash));
+        } finally {
+            segment.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Maps the key to the value, replacing any previous mapping.
+     *
+     * @param key   the key
+     * @param value the value, not {@code null}
+     * @return the previous value, or {@code null} if there was none
+     */
+    public V put(int key, V value) {
+        return put(key, requireValue(value), false);
+    }
+
+    /**
+     * Maps the key to the value only if the key is not mapped yet.
+     *
+     * @param key   the key
+     * @param value the value, not {@code null}
+     * @return the existing value, or {@code null} if the value was stored
+     */
+    public V putIfAbsent(int key, V value) {
+        return put(key, requireValue(value), true);
+    }
+
+    /**
+     * Replaces the value of the key only if the key is already mapped.
+     *
+     * @param key   the key
+     * @param value the new value, not {@code null}
+     * @return the previous value, or {@code null} if the key was not mapped
+     */
+    public V replace(int key, V value) {
+        requireValue(value);
+        int hash = hash(key);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.lock.writeLock();
+        try {
+            Table<Object[]> t = segment.table;
+            int index = find(t, key, hash);
+            if (index < 0) {
+                return null;
+            }
+            Object previous = t.values[index];
+            t.values[index] = value;
+            return cast(previous);
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes the mapping for the key.
+     *
+     * @param key the key
+     * @return the removed value, or {@code null} if the key was not mapped
+     */
+    public V remove(int key) {
+        int hash = hash(key);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.lock.writeLock();
+        try {
+            Table<Object[]> t = segment.table;
+            int index = find(t, key, hash);
+            if (index < 0) {
+                return null;
+            }
+            Object previous = t.values[index];
+            segment.removeAt(t, index);
+            return cast(previous);
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Receives mappings during {@link #forEach} and {@link #scan}.
+     *
+     * @param <V> the type of the mapped values
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(int key, V value);
+    }
+
+    private V put(int key, V value, boolean onlyIfAbsent) {
+        int hash = hash(key);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.lock.writeLock();
+        try {
+            Table<Object[]> t = segment.table;
+            int index = probe(t, key, hash);
+            if (index >= 0) {
+                Object previous = t.values[index];
+                if (!onlyIfAbsent) {
+                    t.values[index] = value;
+                }
+                return cast(previous);
+            }
+            t.values[~index] = value;
+            segment.insert(t, ~index, key);
+            return null;
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    private Object valueOf(Table<Object[]> t, int key, int hash) {
+        int index = find(t, key, hash);
+        return index < 0 ? null : t.values[index];
+    }
+
+    @Override
+    Object[] newValues(int length) {
+        return new Object[length];
+    }
+
+    @Override
+    boolean isEmpty(Object[] values, int index) {
+        return values[index] == null;
+    }
+
+    @Override
+    void move(Object[] from, int fromIndex, Object[] to, int toIndex) {
+        to[toIndex] = from[fromIndex];
+    }
+
+    @Override
+    void clear(Object[] values, int index) {
+        values[index] = null;
+    }
+
+    @Override
+    Object[] copyOf(Object[] values) {
+        return values.clone();
+    }
+
+    @Override
+    void accept(EntryConsumer<? super V> consumer, int key, Object[] values, int index) {
+        consumer.accept(key, cast(values[index]));
+    }
+
+    private static <V> V requireValue(V value) {
+        if (value == null) {
+            throw new NullPointerException("value must not be null");
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V cast(Object value) {
+        return (V) value;
+    }
+}
@@ -0,0 +1,54 @@
+package com.springboot.controller_advice.store;
+
+/**
+ * In-memory {@link ItemStore} that can be shared by all request threads.
+ *
+ * Items are kept in a {@link ConcurrentIntObjectMap}, so IDs are never boxed
+ * and no per-entry nodes are allocated. Reads are optimistic and writes only
+ * contend when they hit the same lock segment, so updates to different IDs
+ * scale across cores.
+ */
+public class ConcurrentItemStore implements ItemStore {
+
+    private final ConcurrentIntObjectMap<String> items = new ConcurrentIntObjectMap<>();
+
+    @Override
+    public String get(int id) {
+        return items.get(id);
+    }
+
+    @Override
+    public void put(int id, String value) {
+        items.put(id, value);
+    }
+
+    @Override
+    public boolean putIfAbsent(int id, String value) {
+        return items.putIfAbsent(id, value) == null;
+    }
+
+    @Override
+    public boolean replace(int id, String value) {
+        return items.replace(id, value) != null;
+    }
+
+    @Override
+    public String remove(int id) {
+        return items.remove(id);
+    }
+
+    @Override
+    public int size() {
+        return items.size();
+    }
+
+    @Override
+    public void forEach(ItemConsumer consumer) {
+        items.forEach(consumer::accept);
+    }
+
+    @Override
+    public long scan(long cursor, int limit, ItemConsumer consumer) {
+        return items.scan(cursor, limit, consumer::accept);
+    }
+}
@@ -0,0 +1,294 @@
+package com.springboot.controller_advice.store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link ItemStore} decorator that records every successful mutation in a
+ * {@link WriteAheadLog}, so the items of the wrapped store survive a restart.
+ *
+ * The log is replayed into the wrapped store when this store is created. A
+ * mutation and its log record are made under the same per-ID lock, so records
+ * for an ID are logged in the order they were applied, and a mutation whose
+ * record cannot be appended is reverted before the error is thrown. Waiting
+ * for the fsync happens after the lock is released, so concurrent writers can
+ * share it.
+ * A write becomes visible to readers slightly before it is durable.
+ *
+ * Periodic checkpoints (see {@link #scheduleCheckpoints(Duration, long)})
+ * snapshot the wrapped store and truncate the log, so startup reads one
+ * snapshot plus a short tail instead of the whole history.
+ */
+public class DurableItemStore implements ItemStore, Closeable {
+
+    private static final int LOCK_STRIPES = 256;
+
+    private final ItemStore delegate;
+    private final WriteAheadLog log;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private ScheduledExecutorService checkpointer;
+
+    /**
+     * Replays the log in the given directory into the delegate and opens it for
+     * appending.
+     *
+     * @param delegate      the store holding the current items
+     * @param directory     the directory of the write-ahead log
+     * @param policy        when log records are fsynced
+     * @param flushInterval the flush interval for {@link WriteAheadLog.FsyncPolicy#INTERVAL}
+     */
+    public DurableItemStore(ItemStore delegate, Path directory, WriteAheadLog.FsyncPolicy policy,
+            Duration flushInterval) {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        this.delegate = delegate;
+        this.log = new WriteAheadLog(directory, policy, flushInterval, new WriteAheadLog.ReplayHandler() {
+            @Override
+            public void put(int id, String value) {
+                delegate.put(id, value);
+            }
+
+            @Override
+            public void remove(int id) {
+                delegate.remove(id);
+            }
+        });
+    }
+
+    @Override
+    public String get(int id) {
+        return delegate.get(id);
+    }
+
+    @Override
+    public void put(int id, String value) {
+        long lsn;
+        synchronized (lockFor(id)) {
+            String previous = delegate.get(id);
+            delegate.put(id, value);
+            lsn = appendOrUndo(id, previous, () -> log.appendPut(id, value));
+        }
+        log.sync(lsn);
+    }
+
+    @Override
+    public boolean putIfAbsent(int id, String value) {
+        long lsn;
+        synchronized (lockFor(id)) {
+            if (!delegate.putIfAbsent(id, value)) {
+                return false;
+            }
+            lsn = appendOrUndo(id, null, () -> log.appendPut(id, value));
+        }
+        log.sync(lsn);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * All records of the batch are appended first and then synced together,
+     * so the batch costs a single fsync.
+     */
+    @Override
+    public boolean[] putIfAbsentAll(int[] ids, String[] values, int count) {
+        boolean[] created = new boolean[count];
+        long lsn = 0;
+        for (int i = 0; i < count; i++) {
+            synchronized (lockFor(ids[i])) {
+                int id = ids[i];
+                String value = values[i];
+                if (delegate.putIfAbsent(id, value)) {
+                    created[i] = true;
+                    lsn = appendOrUndo(id, null, () -> log.appendPut(id, value));
+                }
+            }
+        }
+        if (lsn > 0) {
+            log.sync(lsn);
+        }
+        return created;
+    }
+
+    @Override
+    public boolean replace(int id, String value) {
+        long lsn;
+        synchronized (lockFor(id)) {
+            String previous = delegate.get(id);
+            if (previous == null || !delegate.replace(id, value)) {
+                return false;
+            }
+            lsn = appendOrUndo(id, previous, () -> log.appendPut(id, value));
+        }
+        log.sync(lsn);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The batch costs a single fsync.
+     */
+    @Override
+    public boolean[] replaceAll(int[] ids, String[] values, int count) {
+        boolean[] replaced = new boolean[count];
+        long lsn = 0;
+        for (int i = 0; i < count; i++) {
+            synchronized (lockFor(ids[i])) {
+                int id = ids[i];
+                String value = values[i];
+                String previous = delegate.get(id);
+                if (previous != null && delegate.replace(id, value)) {
+                    replaced[i] = true;
+                    lsn = appendOrUndo(id, previous, () -> log.appendPut(id, value));
+                }
+            }
+        }
+        if (lsn > 0) {
+            log.sync(lsn);
+        }
+        return replaced;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The batch costs a single fsync.
+     */
+    @Override
+    public boolean[] removeAll(int[] ids, int count) {
+        boolean[] removed = new boolean[count];
+        long lsn = 0;
+        for (int i = 0; i < count; i++) {
+            synchronized (lockFor(ids[i])) {
+                int id = ids[i];
+                String previous = delegate.remove(id);
+                if (previous != null) {
+                    removed[i] = true;
+                    lsn = appendOrUndo(id, previous, () -> log.appendRemove(id));
+                }
+            }
+        }
+        if (lsn > 0) {
+            log.sync(lsn);
+        }
+        return removed;
+    }
+
+    @Override
+    public String remove(int id) {
+        String previous;
+        long lsn;
+        synchronized (lockFor(id)) {
+            previous = delegate.remove(id);
+            if (previous == null) {
+                return null;
+            }
+            lsn = appendOrUndo(id, previous, () -> log.appendRemove(id));
+        }
+        log.sync(lsn);
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public void forEach(ItemConsumer consumer) {
+        delegate.forEach(consumer);
+    }
+
+    @Override
+    public long scan(long cursor, int limit, ItemConsumer consumer) {
+        return delegate.scan(cursor, limit, consumer);
+    }
+
+    /**
+     * Snapshots the current items and truncates the log behind the snapshot.
+     * Writers are not blocked while the snapshot is written.
+     */
+    public void checkpoint() {
+        log.checkpoint(delegate);
+    }
+
+    /**
+     * Starts a background thread that checks the log at a fixed interval and
+     * takes a checkpoint once it has grown by at least the given size.
+     *
+     * @param interval    how often the log size is checked
+     * @param minLogBytes the log growth that triggers a checkpoint
+     */
+    public synchronized void scheduleCheckpoints(Duration interval, long minLogBytes) {
+        if (checkpointer != null) {
+            throw new IllegalStateException("Checkpoints are already scheduled");
+        }
+        checkpointer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "item-store-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long nanos = interval.toNanos();
+        checkpointer.scheduleWithFixedDelay(() -> {
+            try {
+                if (log.bytesSinceCheckpoint() >= minLogBytes) {
+                    checkpoint();
+                }
+            } catch (RuntimeException ex) {
+                // Keeps the schedule alive; the next run retries with the log still intact.
+            }
+        }, nanos, nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Flushes and closes the log, then closes the wrapped store if it holds resources.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (checkpointer != null) {
+                checkpointer.shutdownNow();
+            }
+        }
+        try {
+            log.close();
+        } finally {
+            if (delegate instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * Appends the record of a change already applied to the delegate. If the
+     * append fails, the change is reverted before the failure is rethrown, so
+     * the delegate never holds a change the log does not have. Must be called
+     * with the ID's lock held.
+     *
+     * @param previous the value before the change, or {@code null} if the ID was absent
+     */
+    private long appendOrUndo(int id, String previous, LongSupplier append) {
+        try {
+            return append.getAsLong();
+        } catch (RuntimeException | Error ex) {
+            if (previous == null) {
+                delegate.remove(id);
+            } else {
+                delegate.put(id, previous);
+            }
+            throw ex;
+        }
+    }
+
+    private Object lockFor(int id) {
+        return locks[ConcurrentIntObjectMap.hash(id) & (LOCK_STRIPES - 1)];
+    }
+}
@@ -0,0 +1,145 @@
+package com.springboot.controller_advice.store;
+
+/**
+ * Storage for the items served by the item endpoints, keyed by their integer ID.
+ *
+ * Implementations must be safe for use by concurrent request threads.
+ */
+public interface ItemStore {
+
+    /** Cursor that starts a {@link #scan(long, int, ItemConsumer)} at the first item. */
+    long FIRST_PAGE = 0L;
+
+    /** Returned by {@link #scan(long, int, ItemConsumer)} once every item was visited. */
+    long END_OF_SCAN = -1L;
+
+    /**
+     * Returns the value stored under the given ID.
+     *
+     * @param id the ID of the item
+     * @return the stored value, or {@code null} if no item exists
+     */
+    String get(int id);
+
+    /**
+     * Stores a value under the given ID, replacing any previous value.
+     *
+     * @param id    the ID of the item
+     * @param value the value to store
+     */
+    void put(int id, String value);
+
+    /**
+     * Atomically stores a value under the given ID if no item exists yet.
+     *
+     * @param id    the ID of the item
+     * @param value the value to store
+     * @return {@code true} if the item was created, {@code false} if one already existed
+     */
+    boolean putIfAbsent(int id, String value);
+
+    /**
+     * Applies {@link #putIfAbsent(int, String)} to each ID and value pair.
+     * Each pair is atomic on its own; the batch as a whole is not. Stores may
+     * override this to amortize per-write costs over the batch.
+     *
+     * @param ids    the IDs of the items
+     * @param values the values to store, parallel to {@code ids}
+     * @param count  the number of pairs to apply
+     * @return for each pair, whether the item was created
+     */
+    default boolean[] putIfAbsentAll(int[] ids, String[] values, int count) {
+        boolean[] created = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            created[i] = putIfAbsent(ids[i], values[i]);
+        }
+        return created;
+    }
+
+    /**
+     * Atomically replaces the value of an existing item.
+     *
+     * @param id    the ID of the item
+     * @param value the new value
+     * @return {@code true} if the item existed and was updated
+     */
+    boolean replace(int id, String value);
+
+    /**
+     * Applies {@link #replace(int, String)} to each ID and value pair, with the
+     * same batch semantics as {@link #putIfAbsentAll(int[], String[], int)}.
+     *
+     * @param ids    the IDs of the items
+     * @param values the new values, parallel to {@code ids}
+     * @param count  the number of pairs to apply
+     * @return for each pair, whether the item existed and was updated
+     */
+    default boolean[] replaceAll(int[] ids, String[] values, int count) {
+        boolean[] replaced = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            replaced[i] = replace(ids[i], values[i]);
+        }
+        return replaced;
+    }
+
+    /**
+     * Applies {@link #remove(int)} to each ID, with the same batch semantics
+     * as {@link #putIfAbsentAll(int[], String[], int)}.
+     *
+     * @param ids   the IDs of the items
+     * @param count the number of IDs to remove
+     * @return for each ID, whether an item existed and was removed
+     */
+    default boolean[] removeAll(int[] ids, int count) {
+        boolean[] removed = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            removed[i] = remove(ids[i]) != null;
+        }
+        return removed;
+    }
+
+    /**
+     * Removes the item stored under the given ID.
+     *
+     * @param id the ID of the item
+     * @return the removed value, or {@code null} if no item existed
+     */
+    String remove(int id);
+
+    /**
+     * Returns the number of stored items.
+     *
+     * @return the item count
+     */
+    int size();
+
+    /**
+     * Passes every stored item to the consumer. The iteration does not block
+     * writers and is weakly consistent: items changed while it runs may be
+     * reported with either their old or their new state.
+     *
+     * @param consumer receives the ID and value of each item
+     */
+    void forEach(ItemConsumer consumer);
+
+    /**
+     * Passes up to {@code limit} items, starting at a cursor, to the consumer.
+     * The cost of a call is proportional to the page size, not to the store
+     * size. The scan is weakly consistent, like {@link #forEach(ItemConsumer)};
+     * items changed between pages may be missed or repeated.
+     *
+     * @param cursor   {@link #FIRST_PAGE}, or a cursor returned by a previous call
+     * @param limit    the maximum number of items to return, at least 1
+     * @param consumer receives the ID and value of each item
+     * @return the cursor of the next page, or {@link #END_OF_SCAN} if there are no more items
+     */
+    long scan(long cursor, int limit, ItemConsumer consumer);
+
+    /**
+     * Receives items during {@link ItemStore#forEach(ItemConsumer)}.
+     */
+    @FunctionalInterface
+    interface ItemConsumer {
+        void accept(int id, String value);
+    }
+}
@@ -0,0 +1,122 @@
+package com.springboot.controller_advice.store;
+
+import java.util.Arrays;
+
+/**
+ * Concurrent hash map from {@code int} item IDs to non-negative {@code long}
+ * file offsets, used by {@link OffHeapItemStore}.
+ *
+ * It shares the segmented table of {@link ConcurrentIntObjectMap}, but stores
+ * the offsets in a {@code long[]} so the index holds no object references at
+ * all. A value of {@link #ABSENT} marks an empty slot.
+ */
+final class OffHeapIndex extends SegmentedIntTable<long[], OffHeapIndex.EntryConsumer> {
+
+    /** Returned by lookups for IDs that are not indexed. */
+    static final long ABSENT = -1L;
+
+    OffHeapIndex() {
+        super(Math.max(16, Runtime.getRuntime().availableProcessors() * 4));
+    }
+
+    long get(int key) {
+        int hash = hash(key);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            long offset = offsetOf(segment.table, key, hash);
+            if (segment.lock.validate(stamp)) {
+                return offset;
+            }
+        }
+        stamp = segment.lock.readLock();
+        try {
+            return offsetOf(segment.table, key, hash);
+        } finally {
+            segment.lock.unlockRead(stamp);
+        }
+    }
+
+    long put(int key, long offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset must not be negative");
+        }
+        int hash = hash(key);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.lock.writeLock();
+        try {
+            Table<long[]> t = segment.table;
+            int index = probe(t, key, hash);
+            if (index >= 0) {
+                long previous = t.values[index];
+                t.values[index] = offset;
+                return previous;
+            }
+            t.values[~index] = offset;
+            segment.insert(t, ~index, key);
+            return ABSENT;
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    long remove(int key) {
+        int hash = hash(key);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.lock.writeLock();
+        try {
+            Table<long[]> t = segment.table;
+            int index = find(t, key, hash);
+            if (index < 0) {
+                return ABSENT;
+            }
+            long previous = t.values[index];
+            segment.removeAt(t, index);
+            return previous;
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(int key, long offset);
+    }
+
+    private long offsetOf(Table<long[]> t, int key, int hash) {
+        int index = find(t, key, hash);
+        return index < 0 ? ABSENT : t.values[index];
+    }
+
+    @Override
+    long[] newValues(int length) {
+        long[] values = new long[length];
+        Arrays.fill(values, ABSENT);
+        return values;
+    }
+
+    @Override
+    boolean isEmpty(long[] values, int index) {
+        return values[index] == ABSENT;
+    }
+
+    @Override
+    void move(long[] from, int fromIndex, long[] to, int toIndex) {
+        to[toIndex] = from[fromIndex];
+    }
+
+    @Override
+    void clear(long[] values, int index) {
+        values[index] = ABSENT;
+    }
+
+    @Override
+    long[] copyOf(long[] values) {
+        return values.clone();
+    }
+
+    @Override
+    void accept(EntryConsumer consumer, int key, long[] values, int index) {
+        consumer.accept(key, values[index]);
+    }
+}
@@ -0,0 +1,333 @@
+package com.springboot.controller_advice.store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.zip.CRC32C;
+
+/**
+ * {@link ItemStore} that keeps item values outside the Java heap, in a
+ * memory-mapped file.
+ *
+ * Values are appended to the file as UTF-8 records; an {@link OffHeapIndex}
+ * of primitive arrays maps each ID to the offset of its latest record. The
+ * heap therefore only grows by the index (about 12 bytes per item), not by
+ * the values themselves. When the store is reopened, the file is scanned once
+ * to rebuild the index, so items survive a restart.
+ *
+ * File layout: a 16-byte header (magic, version, chunk size) followed by
+ * fixed-size chunks, each mapped separately. A record is
+ * {@code [int crc32c][int length][int id][UTF-8 bytes]}, padded to a multiple
+ * of 8 bytes, and never spans two chunks. The length field holds the byte
+ * count, {@link #TOMBSTONE} for a removed item, or {@link #CHUNK_END} when the
+ * rest of the chunk is unused; the checksum covers the length, ID and bytes.
+ *
+ * Space is reserved before it is written, so a crash, or a writer failing
+ * after its reservation, can leave a hole between committed records. When the
+ * file is reopened, every 8-byte position whose checksum does not match is
+ * skipped, so the records behind a hole, or behind a torn or corrupt record,
+ * are still recovered; new records are appended after the last valid one.
+ *
+ * Replaced and removed records are not reclaimed; the file grows with every
+ * write. Mapped pages are flushed by the operating system, or on
+ * {@link #close()}; writes that were not flushed are lost on a crash.
+ */
+public class OffHeapItemStore implements ItemStore, Closeable {
+
+    private static final int MAGIC = 0x49544d53; // "ITMS"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_HEADER_SIZE = 12;
+    private static final int ALIGNMENT = 8;
+    private static final int TOMBSTONE = -1;
+    private static final int CHUNK_END = -2;
+    private static final int MAX_CHUNKS = 1 << 16;
+    private static final int LOCK_STRIPES = 256;
+
+    private final FileChannel channel;
+    private final int chunkSize;
+    private final AtomicReferenceArray<MappedByteBuffer> chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+    private final AtomicLong tail = new AtomicLong(HEADER_SIZE); // Next free file offset.
+    private final OffHeapIndex index = new OffHeapIndex();
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    /**
+     * Opens the store file, creating it if needed, and rebuilds the index from
+     * any records it already contains.
+     *
+     * @param file      the backing file
+     * @param chunkSize the size of each mapped chunk in bytes, a multiple of 8; ignored
+     *                  for an existing file, which keeps the chunk size it was created with
+     * @throws UncheckedIOException if the file cannot be opened or is not a store file
+     */
+    public OffHeapItemStore(Path file, int chunkSize) {
+        if (chunkSize < ALIGNMENT || chunkSize % ALIGNMENT != 0) {
+            throw new IllegalArgumentException("Chunk size must be a positive multiple of " + ALIGNMENT);
+        }
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            this.chunkSize = readOrWriteHeader(chunkSize);
+            recover();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not open off-heap item store " + file, ex);
+        }
+    }
+
+    @Override
+    public String get(int id) {
+        long offset = index.get(id);
+        return offset == OffHeapIndex.ABSENT ? null : read(offset);
+    }
+
+    @Override
+    public void put(int id, String value) {
+        synchronized (lockFor(id)) {
+            index.put(id, append(id, value));
+        }
+    }
+
+    @Override
+    public boolean putIfAbsent(int id, String value) {
+        synchronized (lockFor(id)) {
+            if (index.get(id) != OffHeapIndex.ABSENT) {
+                return false;
+            }
+            index.put(id, append(id, value));
+            return true;
+        }
+    }
+
+    @Override
+    public boolean replace(int id, String value) {
+        synchronized (lockFor(id)) {
+            if (index.get(id) == OffHeapIndex.ABSENT) {
+                return false;
+            }
+            index.put(id, append(id, value));
+            return true;
+        }
+    }
+
+    @Override
+    public String remove(int id) {
+        synchronized (lockFor(id)) {
+            long offset = index.get(id);
+            if (offset == OffHeapIndex.ABSENT) {
+                return null;
+            }
+            String previous = read(offset);
+            appendTombstone(id);
+            index.remove(id);
+            return previous;
+        }
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Replaced records stay in the file, so an item replaced during the
+     * iteration is reported with the value it had when its index segment was copied.
+     */
+    @Override
+    public void forEach(ItemConsumer consumer) {
+        index.forEach((id, offset) -> consumer.accept(id, read(offset)));
+    }
+
+    @Override
+    public long scan(long cursor, int limit, ItemConsumer consumer) {
+        return index.scan(cursor, limit, (id, offset) -> consumer.accept(id, read(offset)));
+    }
+
+    /**
+     * Flushes all mapped chunks to the file and closes it.
+     */
+    @Override
+    public void close() throws IOException {
+        for (int i = 0; i < MAX_CHUNKS; i++) {
+            MappedByteBuffer chunk = chunks.get(i);
+            if (chunk == null) {
+                break;
+            }
+            chunk.force();
+        }
+        channel.close();
+    }
+
+    private Object lockFor(int id) {
+        return locks[ConcurrentIntObjectMap.hash(id) & (LOCK_STRIPES - 1)];
+    }
+
+    private String read(long offset) {
+        ByteBuffer chunk = chunkAt(offset);
+        int position = positionInChunk(offset);
+        byte[] bytes = new byte[chunk.getInt(position + 4)];
+        chunk.get(position + RECORD_HEADER_SIZE, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private long append(int id, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        long offset = reserve(RECORD_HEADER_SIZE + bytes.length);
+        ByteBuffer chunk = chunkAt(offset);
+        int position = positionInChunk(offset);
+        chunk.putInt(position + 4, bytes.length).putInt(position + 8, id);
+        chunk.put(position + RECORD_HEADER_SIZE, bytes);
+        chunk.putInt(position, checksum(chunk, position, bytes.length)); // Written last, commits the record.
+        return offset;
+    }
+
+    private void appendTombstone(int id) {
+        long offset = reserve(RECORD_HEADER_SIZE);
+        ByteBuffer chunk = chunkAt(offset);
+        int position = positionInChunk(offset);
+        chunk.putInt(position + 4, TOMBSTONE).putInt(position + 8, id);
+        chunk.putInt(position, checksum(chunk, position, 0));
+    }
+
+    /**
+     * Computes the checksum of the length, ID and value bytes of the record at a position.
+     */
+    private static int checksum(ByteBuffer chunk, int position, int valueLength) {
+        CRC32C crc = new CRC32C();
+        crc.update(chunk.slice(position + 4, RECORD_HEADER_SIZE - 4 + valueLength));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Reserves space for a record without locking. If the record does not fit
+     * into the current chunk, the rest of that chunk is marked unused and the
+     * record moves to the start of the next chunk.
+     */
+    private long reserve(int size) {
+        int recordSize = (size + ALIGNMENT - 1) & -ALIGNMENT;
+        if (recordSize > chunkSize) {
+            throw new IllegalArgumentException("Item value is too large for the off-heap store");
+        }
+        while (true) {
+            long offset = tail.get();
+            int position = positionInChunk(offset);
+            if (position + recordSize <= chunkSize) {
+                if (tail.compareAndSet(offset, offset + recordSize)) {
+                    return offset;
+                }
+                continue;
+            }
+            long nextChunk = offset - position + chunkSize;
+            if (tail.compareAndSet(offset, nextChunk + recordSize)) {
+                if (position < chunkSize) {
+                    chunkAt(offset).putInt(position + 4, CHUNK_END);
+                }
+                return nextChunk;
+            }
+        }
+    }
+
+    private int positionInChunk(long offset) {
+        return (int) ((offset - HEADER_SIZE) % chunkSize);
+    }
+
+    private MappedByteBuffer chunkAt(long offset) {
+        int chunkIndex = (int) ((offset - HEADER_SIZE) / chunkSize);
+        MappedByteBuffer chunk = chunks.get(chunkIndex);
+        return chunk != null ? chunk : mapChunk(chunkIndex);
+    }
+
+    private synchronized MappedByteBuffer mapChunk(int chunkIndex) {
+        MappedByteBuffer chunk = chunks.get(chunkIndex);
+        if (chunk == null) {
+            if (chunkIndex >= MAX_CHUNKS) {
+                throw new IllegalStateException("Off-heap item store is full");
+            }
+            try {
+                chunk = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + (long) chunkIndex * chunkSize,
+                        chunkSize);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Could not map off-heap item store chunk", ex);
+            }
+            chunks.set(chunkIndex, chunk);
+        }
+        return chunk;
+    }
+
+    private int readOrWriteHeader(int requestedChunkSize) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        if (channel.size() == 0) {
+            header.putInt(MAGIC).putInt(VERSION).putInt(requestedChunkSize).flip();
+            channel.write(header, 0);
+            return requestedChunkSize;
+        }
+        channel.read(header, 0);
+        header.flip();
+        if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+            throw new IOException("Not an off-heap item store file");
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported off-heap item store version " + version);
+        }
+        int chunkSize = header.getInt();
+        if (chunkSize < ALIGNMENT || chunkSize % ALIGNMENT != 0) {
+            throw new IOException("Corrupt off-heap item store header: chunk size " + chunkSize);
+        }
+        return chunkSize;
+    }
+
+    /**
+     * Replays the records of an existing file into the index and moves the
+     * tail behind the last valid record. Positions that do not hold a valid
+     * record, because they were reserved but never written or were torn or
+     * corrupted, are skipped 8 bytes at a time.
+     */
+    private void recover() throws IOException {
+        long offset = HEADER_SIZE;
+        long end = HEADER_SIZE;
+        long fileSize = channel.size();
+        while (offset < fileSize) {
+            MappedByteBuffer chunk = chunkAt(offset);
+            int position = positionInChunk(offset);
+            int remaining = chunkSize - position;
+            int length = remaining >= RECORD_HEADER_SIZE ? chunk.getInt(position + 4) : CHUNK_END;
+            if (length == CHUNK_END) {
+                offset += remaining;
+                end = offset;
+                continue;
+            }
+            int valueLength = length == TOMBSTONE ? 0 : length;
+            if (valueLength < 0 || valueLength > remaining - RECORD_HEADER_SIZE
+                    || chunk.getInt(position) != checksum(chunk, position, valueLength)) {
+                offset += ALIGNMENT; // A hole or a damaged record.
+                continue;
+            }
+            int id = chunk.getInt(position + 8);
+            if (length == TOMBSTONE) {
+                index.remove(id);
+            } else {
+                index.put(id, offset);
+            }
+            offset += (RECORD_HEADER_SIZE + valueLength + ALIGNMENT - 1) & -ALIGNMENT;
+            end = offset;
+        }
+        tail.set(end);
+    }
+}
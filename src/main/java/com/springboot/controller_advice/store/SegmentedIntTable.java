@@ -0,0 +1,300 @@
+package com.springboot.controller_advice.store;
+
+import java.util.concurrent.locks.StampedLock; // Imports StampedLock, which supports optimistic (non-blocking) reads.
+
+/**
+ * Concurrent open-addressing hash table with primitive {@code int} keys, the
+ * common base of {@link ConcurrentIntObjectMap} and {@link OffHeapIndex}.
+ *
+ * Each lock segment keeps its keys and values in two parallel arrays and
+ * resolves collisions with linear probing; removals shift later entries of
+ * the probe run back, so no tombstones are needed. This class owns the
+ * segments, probing, resizing and iteration. Subclasses only choose the value
+ * array type and its empty marker, and implement the typed lookups and
+ * updates with {@link #find}, {@link #probe}, {@link Segment#insert} and
+ * {@link Segment#removeAt}.
+ *
+ * @param <A> the type of the value array, such as {@code Object[]} or {@code long[]}
+ * @param <C> the type of the consumer that receives entries during iteration
+ */
+abstract class SegmentedIntTable<A, C> {
+
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+
+    private final Segment[] segments;
+    private final int segmentShift;
+
+    @SuppressWarnings("unchecked")
+    SegmentedIntTable(int concurrencyLevel) {
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("concurrencyLevel must be positive");
+        }
+        int segmentCount = Integer.highestOneBit(Math.min(concurrencyLevel, 1 << 16) * 2 - 1);
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+        this.segments = (Segment[]) new SegmentedIntTable<?, ?>.Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    /** Returns a value array of the given length with every slot empty. */
+    abstract A newValues(int length);
+
+    abstract boolean isEmpty(A values, int index);
+
+    /** Copies one value between slots; the source slot is left as it is. */
+    abstract void move(A from, int fromIndex, A to, int toIndex);
+
+    abstract void clear(A values, int index);
+
+    abstract A copyOf(A values);
+
+    /** Passes the entry in the given slot to the consumer. */
+    abstract void accept(C consumer, int key, A values, int index);
+
+    /**
+     * Returns the number of entries. The result is a moment-in-time estimate
+     * while writers are active.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Passes every entry to the consumer. Each segment is copied under its
+     * read lock and the copy is then iterated without holding any lock, so
+     * writers are only held up for the copy of one segment at a time.
+     *
+     * @param consumer receives each key and value
+     */
+    public void forEach(C consumer) {
+        for (Segment segment : segments) {
+            Table<A> copy = segment.copy();
+            for (int i = 0; i < copy.keys.length; i++) {
+                if (!isEmpty(copy.values, i)) {
+                    accept(consumer, copy.keys[i], copy.values, i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Passes up to {@code limit} entries, starting at a cursor, to the
+     * consumer. The cursor is a position in the hash tables (segment and slot),
+     * so the cost of a call is proportional to the page size, not to the table
+     * size. Like {@link #forEach}, the scan is weakly consistent: an entry
+     * added or removed between calls may or may not be returned, and a segment
+     * that resizes between calls may repeat or skip some of its entries.
+     *
+     * @param cursor   {@code 0} for the first page, or a cursor returned by a previous call
+     * @param limit    the maximum number of entries to return
+     * @param consumer receives each key and value
+     * @return the cursor of the next page, or {@code -1} if the scan is complete
+     */
+    public long scan(long cursor, int limit, C consumer) {
+        if (cursor < 0 || (int) cursor < 0 || limit <= 0) {
+            throw new IllegalArgumentException("Invalid scan cursor or limit");
+        }
+        int segmentIndex = (int) (cursor >>> 32);
+        int slot = (int) cursor;
+        int[] keys = new int[limit];
+        A values = newValues(limit);
+        int emitted = 0;
+        while (segmentIndex < segments.length) {
+            long position = segments[segmentIndex].scan(slot, keys, values, limit - emitted);
+            int found = (int) (position >>> 32);
+            for (int i = 0; i < found; i++) {
+                accept(consumer, keys[i], values, i);
+                clear(values, i);
+            }
+            emitted += found;
+            int nextSlot = (int) position;
+            if (nextSlot < 0) {
+                segmentIndex++;
+                slot = 0;
+            } else {
+                slot = nextSlot;
+            }
+            if (emitted == limit) {
+                return segmentIndex < segments.length ? ((long) segmentIndex << 32) | slot : -1L;
+            }
+        }
+        return -1L;
+    }
+
+    final Segment segmentFor(int hash) {
+        return segments[segmentShift == 32 ? 0 : hash >>> segmentShift];
+    }
+
+    /**
+     * Returns the slot holding the key, or {@code -1} if it is absent. Bounded
+     * by the table length so that a torn optimistic read can never loop
+     * forever.
+     */
+    final int find(Table<A> t, int key, int hash) {
+        int index = hash & t.mask;
+        for (int probes = 0; probes <= t.mask; probes++) {
+            if (isEmpty(t.values, index)) {
+                return -1;
+            }
+            if (t.keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & t.mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the slot holding the key or, if it is absent, the bitwise
+     * complement of the empty slot that ends its probe run. Only called under
+     * the write lock, where the table always has an empty slot.
+     */
+    final int probe(Table<A> t, int key, int hash) {
+        int index = hash & t.mask;
+        while (!isEmpty(t.values, index)) {
+            if (t.keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & t.mask;
+        }
+        return ~index;
+    }
+
+    /**
+     * Spreads the key bits (MurmurHash3 finalizer) so that sequential IDs do
+     * not form long probe runs; the high bits pick the segment and the low
+     * bits pick the slot.
+     */
+    static int hash(int key) {
+        int h = key;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Parallel key and value arrays of one segment. Both arrays are replaced
+     * together on resize so a reader always sees matching lengths.
+     */
+    static final class Table<A> {
+        final int[] keys;
+        final A values;
+        final int mask;
+        final int threshold;
+
+        Table(int[] keys, A values) {
+            this.keys = keys;
+            this.values = values;
+            this.mask = keys.length - 1;
+            this.threshold = keys.length - (keys.length >>> 2); // Resizes at 75% load.
+        }
+    }
+
+    /**
+     * One lock segment. Readers take an optimistic stamp or the read lock and
+     * writers the write lock on {@link #lock}; {@link #insert} and
+     * {@link #removeAt} must be called under the write lock.
+     */
+    final class Segment {
+        final StampedLock lock = new StampedLock();
+        volatile Table<A> table = new Table<>(new int[MIN_SEGMENT_CAPACITY], newValues(MIN_SEGMENT_CAPACITY));
+        volatile int size;
+
+        /**
+         * Stores the key in a slot returned by {@link #probe} for an absent
+         * key, whose value the caller has just written, and grows the table
+         * if it is now too full.
+         */
+        void insert(Table<A> t, int index, int key) {
+            t.keys[index] = key;
+            if (++size > t.threshold) {
+                table = resize(t);
+            }
+        }
+
+        /**
+         * Closes the gap left by removing the entry in the slot by moving later
+         * entries of the same probe run back.
+         */
+        void removeAt(Table<A> t, int gap) {
+            int index = gap;
+            while (true) {
+                index = (index + 1) & t.mask;
+                if (isEmpty(t.values, index)) {
+                    break;
+                }
+                int home = hash(t.keys[index]) & t.mask;
+                // Moves the entry only if its home slot does not lie between the gap and its position.
+                if (((index - home) & t.mask) >= ((index - gap) & t.mask)) {
+                    t.keys[gap] = t.keys[index];
+                    move(t.values, index, t.values, gap);
+                    gap = index;
+                }
+            }
+            clear(t.values, gap);
+            size--;
+        }
+
+        Table<A> copy() {
+            long stamp = lock.readLock();
+            try {
+                Table<A> t = table;
+                return new Table<>(t.keys.clone(), copyOf(t.values));
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        /**
+         * Copies up to {@code max} entries from the given slot on into the
+         * buffers. Returns the number copied in the high 32 bits and the next
+         * slot to read (or -1 at the end of the table) in the low 32 bits.
+         */
+        long scan(int start, int[] keys, A values, int max) {
+            long stamp = lock.readLock();
+            try {
+                Table<A> t = table;
+                int found = 0;
+                for (int i = start; i < t.keys.length; i++) {
+                    if (found == max) {
+                        return ((long) found << 32) | i;
+                    }
+                    if (!isEmpty(t.values, i)) {
+                        keys[found] = t.keys[i];
+                        move(t.values, i, values, found++);
+                    }
+                }
+                return ((long) found << 32) | 0xFFFFFFFFL;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private Table<A> resize(Table<A> old) {
+            int length = old.keys.length << 1;
+            Table<A> grown = new Table<>(new int[length], newValues(length));
+            for (int i = 0; i < old.keys.length; i++) {
+                if (!isEmpty(old.values, i)) {
+                    int key = old.keys[i];
+                    int index = hash(key) & grown.mask;
+                    while (!isEmpty(grown.values, index)) {
+                        index = (index + 1) & grown.mask;
+                    }
+                    grown.keys[index] = key;
+                    move(old.values, i, grown.values, index);
+                }
+            }
+            return grown;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.springboot.controller_advice.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Reads and writes item store snapshots for {@link WriteAheadLog}.
+ *
+ * Layout: {@code [int magic][int version]}, then one
+ * {@code [int id][int length][UTF-8 value]} entry per item, then the trailer
+ * {@code [int 0][int -1][long count][int crc32c]}, where the checksum covers
+ * everything before it. A snapshot is written to a temporary file, fsynced,
+ * and atomically renamed, so a visible snapshot is always complete.
+ */
+final class SnapshotFile {
+
+    private static final int MAGIC = 0x534e4150; // "SNAP"
+    private static final int VERSION = 1;
+    private static final int END_MARKER = -1;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private SnapshotFile() {
+    }
+
+    /**
+     * Writes every item of the store to the snapshot file.
+     *
+     * @param file  the snapshot file to create
+     * @param store the store to copy; writers are not blocked while it is iterated
+     */
+    static void write(Path file, ItemStore store) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Writer writer = new Writer(out);
+            writer.buffer.putInt(MAGIC).putInt(VERSION);
+            store.forEach(writer::entry);
+            writer.finish();
+            out.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Loads every item of the snapshot file into the handler.
+     *
+     * @throws IOException if the file is truncated or its checksum does not match
+     */
+    static void read(Path file, WriteAheadLog.ReplayHandler handler) throws IOException {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = fill(in, ByteBuffer.allocate(BUFFER_SIZE).flip(), 8); // Kept in read mode.
+            CRC32C crc = new CRC32C();
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Not an item store snapshot: " + file);
+            }
+            crc.update(buffer.array(), 0, 8);
+            long count = 0;
+            while (true) {
+                buffer = fill(in, buffer, 8);
+                int start = buffer.position();
+                int id = buffer.getInt();
+                int length = buffer.getInt();
+                if (length == END_MARKER) {
+                    crc.update(buffer.array(), start, 8);
+                    buffer = fill(in, buffer, 12);
+                    crc.update(buffer.array(), buffer.position(), 8);
+                    long expectedCount = buffer.getLong();
+                    if (expectedCount != count || buffer.getInt() != (int) crc.getValue()) {
+                        throw new IOException("Corrupt item store snapshot: " + file);
+                    }
+                    return;
+                }
+                if (length < 0) {
+                    throw new IOException("Corrupt item store snapshot: " + file);
+                }
+                crc.update(buffer.array(), start, 8);
+                buffer = fill(in, buffer, length);
+                crc.update(buffer.array(), buffer.position(), length);
+                handler.put(id, new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8));
+                buffer.position(buffer.position() + length);
+                count++;
+            }
+        }
+    }
+
+    /**
+     * Makes sure at least {@code needed} unread bytes are in the buffer,
+     * reading more from the file (and growing the buffer) if necessary.
+     */
+    private static ByteBuffer fill(FileChannel in, ByteBuffer buffer, int needed) throws IOException {
+        if (buffer.remaining() >= needed) {
+            return buffer;
+        }
+        buffer.compact();
+        if (buffer.capacity() < needed) {
+            ByteBuffer grown = ByteBuffer.allocate(Integer.highestOneBit(needed) << 1);
+            buffer.flip();
+            grown.put(buffer);
+            buffer = grown;
+        }
+        while (buffer.position() < needed) {
+            if (in.read(buffer) < 0) {
+                throw new IOException("Item store snapshot is truncated");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Buffers entries and writes them in large blocks, updating the checksum
+     * per block.
+     */
+    private static final class Writer {
+        final FileChannel out;
+        final CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long count;
+        IOException failure;
+
+        Writer(FileChannel out) {
+            this.out = out;
+        }
+
+        void entry(int id, String value) {
+            if (failure != null) {
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            try {
+                ensure(8 + bytes.length);
+                buffer.putInt(id).putInt(bytes.length).put(bytes);
+                count++;
+            } catch (IOException ex) {
+                failure = ex;
+            }
+        }
+
+        void finish() throws IOException {
+            if (failure != null) {
+                throw failure;
+            }
+            ensure(20);
+            buffer.putInt(0).putInt(END_MARKER).putLong(count);
+            drain();
+            buffer.putInt((int) crc.getValue());
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+        }
+
+        private void ensure(int needed) throws IOException {
+            if (buffer.remaining() < needed) {
+                drain();
+                if (buffer.capacity() < needed) {
+                    buffer = ByteBuffer.allocate(Integer.highestOneBit(needed) << 1);
+                }
+            }
+        }
+
+        private void drain() throws IOException {
+            crc.update(buffer.array(), 0, buffer.position());
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,459 @@
+package com.springboot.controller_advice.store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of item store mutations.
+ *
+ * Writers append records to an in-memory buffer and receive a log sequence
+ * number (the logical end offset of their record). They then call
+ * {@link #sync(long)}, which writes the buffer to disk with group commit: the
+ * first waiting thread writes and fsyncs everything buffered so far, and the
+ * threads queued behind it find their records already durable, so many
+ * concurrent writers share a single fsync.
+ *
+ * Record layout: {@code [int bodyLength][int crc32c][byte op][int id][UTF-8 value]}.
+ * On startup the log is replayed and a torn record at its tail (from a crash
+ * mid-write) is truncated away.
+ *
+ * The log is split into numbered segments. {@link #checkpoint(ItemStore)}
+ * starts a new segment, writes a snapshot of the store tagged with that
+ * segment's number, and deletes everything older, so startup only loads the
+ * latest snapshot and replays the segments written since. The snapshot is
+ * fuzzy (taken while writers keep going); replaying the newer segments on top
+ * of it restores the exact state, because every change made after the
+ * checkpoint started is also in those segments.
+ */
+public final class WriteAheadLog implements Closeable {
+
+    /**
+     * When appended records are forced to stable storage.
+     */
+    public enum FsyncPolicy {
+        /** Writes and fsyncs before {@link #sync(long)} returns; concurrent writers share one fsync. */
+        ALWAYS,
+        /**
+         * Returns immediately; a background thread writes and fsyncs at a fixed
+         * interval. Writers only flush themselves if too much is pending.
+         */
+        INTERVAL,
+        /** Writes to the operating system before returning but never fsyncs. */
+        NEVER
+    }
+
+    /**
+     * Receives the records of the log during replay.
+     */
+    public interface ReplayHandler {
+
+        void put(int id, String value);
+
+        void remove(int id);
+    }
+
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+    private static final byte OP_PUT = 1;
+    private static final byte OP_REMOVE = 2;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int BODY_HEADER_SIZE = 5;
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+    private static final int REPLAY_BUFFER_SIZE = 1 << 20;
+    private static final int MAX_PENDING_BYTES = 4 << 20; // Backpressure limit for the interval policy.
+
+    private final Path directory;
+    private final FsyncPolicy policy;
+    private final ScheduledExecutorService flusher;
+    private final ReentrantLock checkpointLock = new ReentrantLock();
+    private volatile long checkpointLsn; // Log position at the start of the last checkpoint.
+
+    private final ReentrantLock appendLock = new ReentrantLock(); // Guards active and appendedLsn.
+    private ByteBuffer active = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private long appendedLsn;
+
+    private final ReentrantLock syncLock = new ReentrantLock(); // Held by the thread writing the log.
+    private FileChannel channel;
+    private long segmentSequence;
+    private ByteBuffer spare = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private volatile long flushedLsn;
+    private volatile boolean closed;
+    private volatile IOException failure; // Set once a write fails; the log rejects further appends.
+
+    /**
+     * Opens the log in the given directory, loads the latest snapshot and
+     * replays the newer records into the handler, and prepares it for appending.
+     *
+     * @param directory     the directory holding the log segments
+     * @param policy        when appended records are fsynced
+     * @param flushInterval how often the log is flushed under {@link FsyncPolicy#INTERVAL}
+     * @param handler       receives every snapshotted item and every record already in the log
+     * @throws UncheckedIOException if the log cannot be read or opened
+     */
+    public WriteAheadLog(Path directory, FsyncPolicy policy, Duration flushInterval, ReplayHandler handler) {
+        this.directory = directory;
+        this.policy = policy;
+        try {
+            Files.createDirectories(directory);
+            List<Path> snapshots = list(SNAPSHOT_SUFFIX);
+            long snapshotSequence = 0;
+            if (!snapshots.isEmpty()) {
+                Path snapshot = snapshots.get(snapshots.size() - 1);
+                SnapshotFile.read(snapshot, handler);
+                snapshotSequence = sequenceOf(snapshot);
+            }
+            List<Path> segments = new ArrayList<>();
+            for (Path segment : list(SEGMENT_SUFFIX)) {
+                if (sequenceOf(segment) < snapshotSequence) {
+                    Files.delete(segment); // Already covered by the snapshot; left over from an interrupted checkpoint.
+                } else {
+                    segments.add(segment);
+                }
+            }
+            this.segmentSequence = segments.isEmpty() ? Math.max(1, snapshotSequence)
+                    : sequenceOf(segments.get(segments.size() - 1));
+            long replayed = 0;
+            for (Path segment : segments) {
+                replayed += replay(segment, handler, sequenceOf(segment) == segmentSequence);
+            }
+            this.appendedLsn = replayed;
+            this.flushedLsn = replayed;
+            this.channel = openSegment(segmentSequence);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not open write-ahead log in " + directory, ex);
+        }
+        if (policy == FsyncPolicy.INTERVAL) {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "wal-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long nanos = flushInterval.toNanos();
+            flusher.scheduleWithFixedDelay(this::flushQuietly, nanos, nanos, TimeUnit.NANOSECONDS);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    /**
+     * Appends a record that stores a value under an ID.
+     *
+     * @return the log sequence number to pass to {@link #sync(long)}
+     */
+    public long appendPut(int id, String value) {
+        return append(OP_PUT, id, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Appends a record that removes an ID.
+     *
+     * @return the log sequence number to pass to {@link #sync(long)}
+     */
+    public long appendRemove(int id) {
+        return append(OP_REMOVE, id, null);
+    }
+
+    /**
+     * Waits until the record with the given sequence number is persisted as
+     * required by the fsync policy.
+     *
+     * @param lsn a sequence number returned by an append method
+     */
+    public void sync(long lsn) {
+        long flushed = flushedLsn;
+        if (flushed >= lsn || (policy == FsyncPolicy.INTERVAL && lsn - flushed <= MAX_PENDING_BYTES)) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (flushedLsn < lsn) { // Otherwise the previous lock holder already wrote our record.
+                flush(policy != FsyncPolicy.NEVER);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write the write-ahead log", ex);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Starts a new log segment, writes a snapshot of the store next to it and
+     * deletes the older segments and snapshots. Writers keep appending while
+     * the snapshot is written; only one checkpoint runs at a time.
+     *
+     * @param state the store whose items the log describes
+     * @throws UncheckedIOException if the snapshot cannot be written; the log stays usable
+     */
+    public void checkpoint(ItemStore state) {
+        checkpointLock.lock();
+        try {
+            long sequence;
+            long lsn;
+            syncLock.lock();
+            try {
+                if (closed) {
+                    throw new IllegalStateException("Write-ahead log is closed");
+                }
+                flush(true);
+                lsn = flushedLsn;
+                channel.close();
+                sequence = segmentSequence + 1;
+                try {
+                    channel = openSegment(sequence);
+                } catch (IOException ex) {
+                    failure = ex;
+                    throw ex;
+                }
+                segmentSequence = sequence;
+            } finally {
+                syncLock.unlock();
+            }
+            SnapshotFile.write(directory.resolve(fileName(sequence, SNAPSHOT_SUFFIX)), state);
+            for (Path file : list(SEGMENT_SUFFIX)) {
+                if (sequenceOf(file) < sequence) {
+                    Files.delete(file);
+                }
+            }
+            for (Path file : list(SNAPSHOT_SUFFIX)) {
+                if (sequenceOf(file) < sequence) {
+                    Files.delete(file);
+                }
+            }
+            checkpointLsn = lsn;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not checkpoint the write-ahead log", ex);
+        } finally {
+            checkpointLock.unlock();
+        }
+    }
+
+    /**
+     * Returns how many bytes were appended since the last checkpoint started
+     * (or since the log was opened).
+     *
+     * @return the log growth in bytes
+     */
+    public long bytesSinceCheckpoint() {
+        return appendedLsnSnapshot() - checkpointLsn;
+    }
+
+    /**
+     * Writes and fsyncs all buffered records and closes the log.
+     */
+    @Override
+    public void close() throws IOException {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        syncLock.lock();
+        try {
+            if (!closed) {
+                closed = true;
+                try {
+                    flush(true);
+                } finally {
+                    channel.close();
+                }
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private long append(byte op, int id, byte[] value) {
+        int bodyLength = BODY_HEADER_SIZE + (value == null ? 0 : value.length);
+        int recordLength = RECORD_HEADER_SIZE + bodyLength;
+        appendLock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Write-ahead log is closed");
+            }
+            if (failure != null) {
+                throw new UncheckedIOException("Write-ahead log failed", failure);
+            }
+            if (active.remaining() < recordLength) {
+                active = grow(active, recordLength);
+            }
+            int start = active.position();
+            active.putInt(bodyLength).putInt(0).put(op).putInt(id);
+            if (value != null) {
+                active.put(value);
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(active.array(), active.arrayOffset() + start + RECORD_HEADER_SIZE, bodyLength);
+            active.putInt(start + 4, (int) crc.getValue());
+            appendedLsn += recordLength;
+            return appendedLsn;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Swaps the active buffer for the spare one and writes the swapped-out
+     * records. Appenders only wait for the swap, not for the disk. Must be
+     * called with the sync lock held.
+     */
+    private void flush(boolean force) throws IOException {
+        if (failure != null) {
+            throw failure;
+        }
+        ByteBuffer full;
+        long end;
+        appendLock.lock();
+        try {
+            full = active;
+            active = spare;
+            end = appendedLsn;
+        } finally {
+            appendLock.unlock();
+        }
+        full.flip();
+        try {
+            while (full.hasRemaining()) {
+                channel.write(full);
+            }
+            if (force) {
+                channel.force(false);
+            }
+        } catch (IOException ex) {
+            failure = ex; // The swapped-out records are lost, so later writes must not pretend to be durable.
+            throw ex;
+        }
+        full.clear();
+        spare = full;
+        flushedLsn = end;
+    }
+
+    private void flushQuietly() {
+        syncLock.lock();
+        try {
+            if (!closed && flushedLsn < appendedLsnSnapshot()) {
+                flush(true);
+            }
+        } catch (IOException ex) {
+            // Recorded in failure; subsequent appends report it to the writers.
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private long appendedLsnSnapshot() {
+        appendLock.lock();
+        try {
+            return appendedLsn;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, int needed) {
+        int capacity = buffer.capacity();
+        while (capacity - buffer.position() < needed) {
+            capacity <<= 1;
+        }
+        ByteBuffer grown = ByteBuffer.allocate(capacity);
+        buffer.flip();
+        grown.put(buffer);
+        return grown;
+    }
+
+    private List<Path> list(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(suffix))
+                    .sorted() // Names are zero-padded sequence numbers, so this is numeric order.
+                    .toList();
+        }
+    }
+
+    private FileChannel openSegment(long sequence) throws IOException {
+        return FileChannel.open(directory.resolve(fileName(sequence, SEGMENT_SUFFIX)), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private static String fileName(long sequence, String suffix) {
+        return String.format("%020d%s", sequence, suffix);
+    }
+
+    private static long sequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.indexOf('.')));
+    }
+
+    /**
+     * Streams one segment through a large buffer and hands each valid record
+     * to the handler. A torn or corrupt record ends the replay; in the current
+     * segment the file is truncated there so new records follow valid ones.
+     *
+     * @return the number of valid bytes in the segment
+     */
+    private static long replay(Path segment, ReplayHandler handler, boolean current) throws IOException {
+        try (FileChannel in = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(REPLAY_BUFFER_SIZE);
+            CRC32C crc = new CRC32C();
+            long fileSize = in.size();
+            long validEnd = 0;
+            boolean eof = false;
+            while (!eof) {
+                eof = in.read(buffer) < 0;
+                buffer.flip();
+                int needed = 0;
+                while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+                    int start = buffer.position();
+                    int bodyLength = buffer.getInt(start);
+                    if (bodyLength < BODY_HEADER_SIZE || validEnd + RECORD_HEADER_SIZE + bodyLength > fileSize) {
+                        eof = true; // Torn length field or a record cut off by a crash.
+                        break;
+                    }
+                    if (buffer.remaining() < RECORD_HEADER_SIZE + bodyLength) {
+                        needed = RECORD_HEADER_SIZE + bodyLength;
+                        break; // Needs more bytes from the file.
+                    }
+                    int bodyStart = start + RECORD_HEADER_SIZE;
+                    crc.reset();
+                    crc.update(buffer.array(), bodyStart, bodyLength);
+                    if ((int) crc.getValue() != buffer.getInt(start + 4)) {
+                        eof = true;
+                        break;
+                    }
+                    int id = buffer.getInt(bodyStart + 1);
+                    if (buffer.get(bodyStart) == OP_PUT) {
+                        handler.put(id, new String(buffer.array(), bodyStart + BODY_HEADER_SIZE,
+                                bodyLength - BODY_HEADER_SIZE, StandardCharsets.UTF_8));
+                    } else {
+                        handler.remove(id);
+                    }
+                    buffer.position(bodyStart + bodyLength);
+                    validEnd += RECORD_HEADER_SIZE + bodyLength;
+                }
+                buffer.compact();
+                if (needed > buffer.capacity()) {
+                    buffer = grow(buffer, needed);
+                }
+            }
+            if (validEnd < fileSize) {
+                if (!current) {
+                    throw new IOException("Corrupt write-ahead log segment " + segment);
+                }
+                in.truncate(validEnd);
+            }
+            return validEnd;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.springboot.controller_advice.time;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+/**
+ * Clock with millisecond granularity that hands out pre-formatted timestamps.
+ *
+ * The current time is formatted as ISO-8601 local date-time with
+ * milliseconds, such as {@code 2024-05-01T12:34:56.789}, in the zone of the
+ * underlying clock, and JSON-encoded once. Every caller within the same
+ * millisecond gets the same {@link Timestamp}, so formatting and zone rules
+ * are evaluated at most once per millisecond however many errors are
+ * rendered or logged. The value is refreshed lazily by the first caller of
+ * a new millisecond; no background thread is involved.
+ */
+public class CoarseClock {
+
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSS");
+
+    private final Clock clock;
+    private final ZoneId zone;
+    private volatile Timestamp current;
+
+    /**
+     * Creates a clock for the system time in the default time zone.
+     */
+    public CoarseClock() {
+        this(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Creates a clock that reads the given clock and formats in its zone.
+     *
+     * @param clock the source of the current time
+     */
+    public CoarseClock(Clock clock) {
+        this.clock = clock;
+        this.zone = clock.getZone();
+        this.current = format(clock.millis());
+    }
+
+    /**
+     * Returns the current time, formatting it only if the millisecond has
+     * changed since the last call. Concurrent callers may both format a new
+     * millisecond; they produce equal values, so either one may win.
+     */
+    public Timestamp now() {
+        long millis = clock.millis();
+        Timestamp timestamp = current;
+        if (timestamp.epochMillis != millis) {
+            timestamp = format(millis);
+            current = timestamp;
+        }
+        return timestamp;
+    }
+
+    private Timestamp format(long millis) {
+        String text = FORMAT.format(LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), zone));
+        SerializedString encoded = new SerializedString(text);
+        encoded.asQuotedChars();
+        encoded.asQuotedUTF8();
+        return new Timestamp(millis, encoded);
+    }
+
+    /**
+     * A point in time together with its formatted, JSON-encoded text.
+     */
+    public static final class Timestamp {
+        private final long epochMillis;
+        private final SerializedString text;
+
+        Timestamp(long epochMillis, SerializedString text) {
+            this.epochMillis = epochMillis;
+            this.text = text;
+        }
+
+        public long getEpochMillis() {
+            return epochMillis;
+        }
+
+        /**
+         * Returns the formatted time, ready to be written with
+         * {@link com.fasterxml.jackson.core.JsonGenerator#writeString(SerializableString)}.
+         */
+        public SerializableString encoded() {
+            return text;
+        }
+
+        @Override
+        public String toString() {
+            return text.getValue();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.springboot.controller_advice.validation;
+
+import java.util.Optional;
+
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import com.springboot.controller_advice.exception.InvalidFieldException;
+
+import jakarta.validation.ValidatorFactory;
+
+/**
+ * Spring {@link SmartValidator} that validates request bodies with a
+ * {@link ValidationPlan} compiled once per class from the Bean Validation
+ * constraints, instead of walking the constraint metadata on every request.
+ *
+ * Classes whose constraints cannot be compiled, and validations that ask for
+ * specific groups, are passed to the standard validator. In fail-fast mode the
+ * first violation is thrown as an {@link InvalidFieldException}, before any
+ * error is added to the binding result; otherwise every violation is added
+ * to it, as the standard validator does. Messages are interpolated once, in
+ * the default locale.
+ */
+public class CompiledValidator implements SmartValidator {
+
+    private final SpringValidatorAdapter standard;
+    private final boolean failFast;
+    private final ClassValue<Optional<ValidationPlan>> plans;
+
+    /**
+     * @param factory  the Bean Validation factory that supplies constraint metadata,
+     *                 messages, and the validator for classes that cannot be compiled
+     * @param failFast whether validation stops at the first violation
+     */
+    public CompiledValidator(ValidatorFactory factory, boolean failFast) {
+        this.standard = new SpringValidatorAdapter(factory.getValidator());
+        this.failFast = failFast;
+        this.plans = new ClassValue<>() {
+            @Override
+            protected Optional<ValidationPlan> computeValue(Class<?> type) {
+                return Optional.ofNullable(ValidationPlan.compile(type,
+                        factory.getValidator().getConstraintsForClass(type), factory.getMessageInterpolator()));
+            }
+        };
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return true;
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        ValidationPlan plan = plans.get(target.getClass()).orElse(null);
+        if (plan == null) {
+            standard.validate(target, errors);
+        } else if (failFast) {
+            plan.validate(target, (field, code, message) -> {
+                throw new InvalidFieldException(field, message);
+            });
+        } else {
+            plan.validate(target, (field, code, message) -> errors.rejectValue(field, code, message));
+        }
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        if (validationHints.length > 0) {
+            standard.validate(target, errors, validationHints);
+        } else {
+            validate(target, errors);
+        }
+    }
+}
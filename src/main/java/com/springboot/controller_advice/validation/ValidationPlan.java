@@ -0,0 +1,189 @@
+package com.springboot.controller_advice.validation;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import jakarta.validation.MessageInterpolator;
+import jakarta.validation.groups.Default;
+import jakarta.validation.metadata.BeanDescriptor;
+import jakarta.validation.metadata.ConstraintDescriptor;
+import jakarta.validation.metadata.PropertyDescriptor;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * The constraints of one class, compiled from Bean Validation metadata into a
+ * flat list of checks.
+ *
+ * Each constrained field is read once through a method handle, and each of
+ * its constraints is a predicate with its message interpolated in advance,
+ * so validating an object walks no metadata and interpolates no messages.
+ * Only {@code @NotNull}, {@code @Size} on strings, collections and maps, and
+ * {@code @Min}/{@code @Max} on integral numbers, declared on fields in the
+ * default group, can be compiled; {@link #compile} returns {@code null} for a
+ * class with any other constraint, so it can be validated the standard way.
+ */
+final class ValidationPlan {
+
+    private final Property[] properties;
+
+    private ValidationPlan(Property[] properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Passes every violated constraint of the target, in field declaration
+     * order, to the handler.
+     */
+    void validate(Object target, ViolationHandler handler) {
+        for (Property property : properties) {
+            Object value = property.read(target);
+            for (Check check : property.checks) {
+                if (!check.test.test(value)) {
+                    handler.onViolation(property.name, check.code, check.message);
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface ViolationHandler {
+        void onViolation(String field, String code, String message);
+    }
+
+    /**
+     * Compiles the constraints of a class.
+     *
+     * @return the plan, or {@code null} if the class has constraints that cannot be compiled
+     */
+    static ValidationPlan compile(Class<?> type, BeanDescriptor bean, MessageInterpolator interpolator) {
+        if (!bean.getConstraintDescriptors().isEmpty()) {
+            return null; // Class-level constraints.
+        }
+        List<Property> properties = new ArrayList<>();
+        int compiled = 0;
+        try {
+            for (Class<?> current = type; current != null && current != Object.class; current = current
+                    .getSuperclass()) {
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(current, MethodHandles.lookup());
+                for (Field field : current.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    PropertyDescriptor descriptor = bean.getConstraintsForProperty(field.getName());
+                    if (descriptor == null) {
+                        continue;
+                    }
+                    if (descriptor.isCascaded() || !descriptor.getConstrainedContainerElementTypes().isEmpty()
+                            || descriptor.findConstraints().declaredOn(ElementType.METHOD).hasConstraints()) {
+                        return null;
+                    }
+                    List<Check> checks = new ArrayList<>();
+                    for (ConstraintDescriptor<?> constraint : descriptor.getConstraintDescriptors()) {
+                        Check check = compile(field.getType(), constraint, interpolator);
+                        if (check == null) {
+                            return null;
+                        }
+                        checks.add(check);
+                    }
+                    MethodHandle getter = lookup.unreflectGetter(field)
+                            .asType(MethodType.methodType(Object.class, Object.class));
+                    properties.add(new Property(field.getName(), getter, checks.toArray(Check[]::new)));
+                    compiled++;
+                }
+            }
+        } catch (IllegalAccessException ex) {
+            return null;
+        }
+        return compiled == bean.getConstrainedProperties().size()
+                ? new ValidationPlan(properties.toArray(Property[]::new))
+                : null;
+    }
+
+    private static Check compile(Class<?> fieldType, ConstraintDescriptor<?> constraint,
+            MessageInterpolator interpolator) {
+        if (!constraint.getGroups().equals(Set.of(Default.class)) || !constraint.getComposingConstraints().isEmpty()
+                || !constraint.getPayload().isEmpty()) {
+            return null;
+        }
+        Annotation annotation = constraint.getAnnotation();
+        Predicate<Object> test = null;
+        if (annotation instanceof NotNull) {
+            test = value -> value != null;
+        } else if (annotation instanceof Size size) {
+            int min = size.min();
+            int max = size.max();
+            if (CharSequence.class.isAssignableFrom(fieldType)) {
+                test = value -> value == null || between(((CharSequence) value).length(), min, max);
+            } else if (Collection.class.isAssignableFrom(fieldType)) {
+                test = value -> value == null || between(((Collection<?>) value).size(), min, max);
+            } else if (Map.class.isAssignableFrom(fieldType)) {
+                test = value -> value == null || between(((Map<?, ?>) value).size(), min, max);
+            }
+        } else if (annotation instanceof Min min && isIntegral(fieldType)) {
+            long bound = min.value();
+            test = value -> value == null || ((Number) value).longValue() >= bound;
+        } else if (annotation instanceof Max max && isIntegral(fieldType)) {
+            long bound = max.value();
+            test = value -> value == null || ((Number) value).longValue() <= bound;
+        }
+        if (test == null) {
+            return null;
+        }
+        String message = interpolator.interpolate(constraint.getMessageTemplate(), new MessageInterpolator.Context() {
+            @Override
+            public ConstraintDescriptor<?> getConstraintDescriptor() {
+                return constraint;
+            }
+
+            @Override
+            public Object getValidatedValue() {
+                return null;
+            }
+
+            @Override
+            public <T> T unwrap(Class<T> type) {
+                throw new UnsupportedOperationException();
+            }
+        });
+        return new Check(annotation.annotationType().getSimpleName(), message, test);
+    }
+
+    private static boolean between(int length, int min, int max) {
+        return length >= min && length <= max;
+    }
+
+    private static boolean isIntegral(Class<?> type) {
+        return type == int.class || type == long.class || type == short.class || type == byte.class
+                || type == Integer.class || type == Long.class || type == Short.class || type == Byte.class;
+    }
+
+    private record Check(String code, String message, Predicate<Object> test) {
+    }
+
+    private record Property(String name, MethodHandle getter, Check[] checks) {
+
+        Object read(Object target) {
+            try {
+                return getter.invokeExact(target);
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+}
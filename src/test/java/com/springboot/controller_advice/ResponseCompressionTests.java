@@ -0,0 +1,50 @@
+package com.springboot.controller_advice;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.springboot.controller_advice.store.ItemStore;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ResponseCompressionTests {
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private ItemStore itemStore;
+
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	@Test
+	void compressesLargeBodiesOnly() throws Exception {
+		for (int id = 4_000_000; id < 4_000_200; id++) {
+			itemStore.put(id, "compressible value " + id);
+		}
+
+		HttpResponse<byte[]> page = get("/api/items?limit=200");
+		assertThat(page.statusCode()).isEqualTo(200);
+		assertThat(page.headers().firstValue("Content-Encoding")).hasValue("gzip");
+
+		HttpResponse<byte[]> error = get("/api/items/-1");
+		assertThat(error.statusCode()).isEqualTo(404);
+		assertThat(error.headers().firstValue("Content-Encoding")).isEmpty();
+	}
+
+	private HttpResponse<byte[]> get(String path) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.header("Accept-Encoding", "gzip")
+				.build();
+		return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+	}
+
+}
@@ -0,0 +1,94 @@
+package com.springboot.controller_advice.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.springboot.controller_advice.dto.ErrorResponse;
+import com.springboot.controller_advice.dto.ErrorTemplate;
+import com.springboot.controller_advice.dto.ItemDto;
+import com.springboot.controller_advice.dto.ItemPageDto;
+import com.springboot.controller_advice.time.CoarseClock;
+
+/**
+ * Encodes and decodes a page of 100 items, and encodes a 404 error body, as
+ * JSON, CBOR and Smile. The encoded sizes are printed when each trial starts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BinaryFormatBenchmark {
+
+	@Param({ "json", "cbor", "smile" })
+	public String format;
+
+	private final CoarseClock clock = new CoarseClock();
+	private final ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+	private ObjectWriter writer;
+	private ObjectReader pageReader;
+	private ItemPageDto page;
+	private byte[] encodedPage;
+
+	@Setup
+	public void setUp() throws IOException {
+		JsonFactory factory = switch (format) {
+			case "cbor" -> new CBORFactory();
+			case "smile" -> new SmileFactory();
+			default -> new JsonFactory();
+		};
+		ObjectMapper mapper = new ObjectMapper(factory);
+		writer = mapper.writer();
+		pageReader = mapper.readerFor(ItemPageDto.class);
+		List<ItemDto> items = new ArrayList<>();
+		for (int id = 0; id < 100; id++) {
+			items.add(new ItemDto(1_000_000 + id, "item value " + id));
+		}
+		page = new ItemPageDto(items, "AAAAAAAAAGQ");
+		encodedPage = writer.writeValueAsBytes(page);
+		System.out.printf("%n%s: page %d bytes, error %d bytes%n", format, encodedPage.length, encodeError());
+	}
+
+	@Benchmark
+	public int encodePage() throws IOException {
+		out.reset();
+		writer.writeValue(out, page);
+		return out.size();
+	}
+
+	@Benchmark
+	public ItemPageDto decodePage() throws IOException {
+		return pageReader.readValue(encodedPage);
+	}
+
+	@Benchmark
+	public int encodeError() throws IOException {
+		out.reset();
+		writer.writeValue(out, new ErrorResponse(clock.now(), ErrorTemplate.NOT_FOUND, "Item not found",
+				"/api/items/12345", "/api/items/{id}"));
+		return out.size();
+	}
+
+}
@@ -0,0 +1,67 @@
+package com.springboot.controller_advice.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.CompilerControl;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.springboot.controller_advice.exception.InvalidRequestException;
+
+/**
+ * Throws and catches an exception from {@code depth} frames down, once with a
+ * regular {@link IllegalArgumentException} and once with a stackless
+ * {@link InvalidRequestException}. A request handled by Spring MVC is usually
+ * well over 100 frames deep.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class DomainExceptionBenchmark {
+
+	@Param({ "10", "150" })
+	public int depth;
+
+	@Benchmark
+	public String stackTrace() {
+		try {
+			throwAt(depth, false);
+			return null;
+		} catch (RuntimeException ex) {
+			return ex.getMessage();
+		}
+	}
+
+	@Benchmark
+	public String stackless() {
+		try {
+			throwAt(depth, true);
+			return null;
+		} catch (RuntimeException ex) {
+			return ex.getMessage();
+		}
+	}
+
+	@CompilerControl(CompilerControl.Mode.DONT_INLINE) // Keeps every frame on the stack.
+	private static void throwAt(int depth, boolean stackless) {
+		if (depth > 0) {
+			throwAt(depth - 1, stackless);
+		} else if (stackless) {
+			throw new InvalidRequestException("limit must be between 1 and 1000");
+		} else {
+			throw new IllegalArgumentException("limit must be between 1 and 1000");
+		}
+	}
+
+}
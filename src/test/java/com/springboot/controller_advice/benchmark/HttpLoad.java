@@ -0,0 +1,127 @@
+package com.springboot.controller_advice.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.springboot.controller_advice.ControllerAdviceApplication;
+import com.springboot.controller_advice.store.ItemStore;
+
+/**
+ * Closed-loop HTTP load against {@code GET /api/items/{id}}, used by
+ * {@link ThreadModeLoadTest} and {@link WebStackLoadTest} to compare
+ * configurations of the application.
+ */
+final class HttpLoad {
+
+	private static final int ITEM_ID = 1;
+
+	private HttpLoad() {
+	}
+
+	/**
+	 * Starts the application once per variant on a random port and measures
+	 * it with the given number of clients, after a warmup of half the
+	 * duration. Every variant runs twice and only the second round is
+	 * reported: the JIT warms up in the first application started, which
+	 * would otherwise favour whichever variant runs second.
+	 *
+	 * @param variants the properties of each variant, by name
+	 * @param sources  configuration classes added to the application
+	 * @return one formatted row per variant
+	 */
+	static List<String> compare(Map<String, String[]> variants, Class<?>[] sources, int clients, Duration duration)
+			throws Exception {
+		System.setProperty("spring.devtools.restart.enabled", "false"); // A restart would rerun main without args.
+		Class<?>[] allSources = new Class<?>[sources.length + 1];
+		allSources[0] = ControllerAdviceApplication.class;
+		System.arraycopy(sources, 0, allSources, 1, sources.length);
+		Map<String, String> rows = new LinkedHashMap<>();
+		for (int round = 0; round < 2; round++) {
+			for (Map.Entry<String, String[]> variant : variants.entrySet()) {
+				try (ConfigurableApplicationContext context = new SpringApplicationBuilder(allSources)
+						.properties("server.port=0", "app.circuit.enabled=false", "logging.level.root=warn")
+						.properties(variant.getValue())
+						.run()) {
+					context.getBean(ItemStore.class).put(ITEM_ID, "item-" + ITEM_ID);
+					int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+					URI uri = URI.create("http://localhost:" + port + "/api/items/" + ITEM_ID);
+					run(uri, clients, duration.dividedBy(2)); // Warmup.
+					rows.put(variant.getKey(), String.format("%-8s %s", variant.getKey(), run(uri, clients, duration)));
+				}
+			}
+		}
+		return new ArrayList<>(rows.values());
+	}
+
+	private static String run(URI uri, int clients, Duration duration) throws Exception {
+		HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+		HttpRequest request = HttpRequest.newBuilder(uri).build();
+		ExecutorService pool = Executors.newFixedThreadPool(clients);
+		long start = System.nanoTime();
+		long deadline = start + duration.toNanos();
+		List<Future<long[]>> futures = new ArrayList<>();
+		for (int i = 0; i < clients; i++) {
+			futures.add(pool.submit(() -> {
+				long[] latencies = new long[1024];
+				int count = 0;
+				for (long sent = System.nanoTime(); sent < deadline; sent = System.nanoTime()) {
+					HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+					if (response.statusCode() != 200) {
+						throw new IllegalStateException("Unexpected status " + response.statusCode());
+					}
+					if (count == latencies.length) {
+						latencies = Arrays.copyOf(latencies, count * 2);
+					}
+					latencies[count++] = System.nanoTime() - sent;
+				}
+				return Arrays.copyOf(latencies, count);
+			}));
+		}
+		int serverThreads = 0;
+		long[] all = new long[0];
+		for (Future<long[]> future : futures) {
+			if (serverThreads == 0) {
+				serverThreads = serverThreads(); // Counted while the clients are still running.
+			}
+			long[] latencies = future.get();
+			int offset = all.length;
+			all = Arrays.copyOf(all, offset + latencies.length);
+			System.arraycopy(latencies, 0, all, offset, latencies.length);
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		pool.shutdown();
+		Arrays.sort(all);
+		return String.format("%,10.0f req/s   p50 %7.2f ms   p99 %7.2f ms   max %8.2f ms   %4d server threads",
+				all.length / seconds, percentile(all, 0.50), percentile(all, 0.99), all[all.length - 1] / 1e6,
+				serverThreads);
+	}
+
+	/**
+	 * Counts the platform threads of the Tomcat or Netty server.
+	 */
+	private static int serverThreads() {
+		return (int) Thread.getAllStackTraces().keySet().stream()
+				.filter(thread -> thread.getName().startsWith("http-nio-")
+						|| thread.getName().startsWith("reactor-http-"))
+				.count();
+	}
+
+	private static double percentile(long[] sorted, double p) {
+		return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1e6;
+	}
+}
@@ -0,0 +1,60 @@
+package com.springboot.controller_advice.benchmark;
+
+import java.lang.ref.Reference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import com.springboot.controller_advice.store.ConcurrentIntObjectMap;
+
+/**
+ * Compares the retained heap of the item index for a {@link HashMap} of boxed
+ * keys and a {@link ConcurrentIntObjectMap}. All entries share one value so
+ * that only the per-entry overhead of the map is measured.
+ *
+ * Run from the test classpath after {@code mvn test-compile}:
+ * {@code java -cp target/test-classes:target/classes com.springboot.controller_advice.benchmark.ItemStoreFootprint [entries]}
+ */
+public final class ItemStoreFootprint {
+
+	private static final String VALUE = "shared-value";
+
+	private ItemStoreFootprint() {
+	}
+
+	public static void main(String[] args) {
+		int entries = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+		report("HashMap<Integer, String>", entries, count -> {
+			Map<Integer, String> map = new HashMap<>();
+			for (int id = 0; id < count; id++) {
+				map.put(id, VALUE);
+			}
+			return map;
+		});
+		report("ConcurrentIntObjectMap<String>", entries, count -> {
+			ConcurrentIntObjectMap<String> map = new ConcurrentIntObjectMap<>();
+			for (int id = 0; id < count; id++) {
+				map.put(id, VALUE);
+			}
+			return map;
+		});
+	}
+
+	private static void report(String name, int entries, IntFunction<Object> filler) {
+		long before = usedHeap();
+		Object map = filler.apply(entries);
+		long after = usedHeap();
+		System.out.printf("%-32s %,d entries: %,d bytes (%.1f bytes/entry)%n",
+				name, entries, after - before, (after - before) / (double) entries);
+		Reference.reachabilityFence(map); // Keeps the map alive until after the measurement.
+	}
+
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+}
@@ -0,0 +1,82 @@
+package com.springboot.controller_advice.benchmark;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+
+import com.springboot.controller_advice.store.ItemStore;
+
+/**
+ * Compares throughput and latency of {@code GET /api/items/{id}} with request
+ * handling on Tomcat's platform thread pool and on virtual threads
+ * ({@code app.threads.mode}), at a concurrency well above the pool's 200
+ * threads.
+ *
+ * Each mode runs with every item store call delayed by a fixed latency,
+ * standing in for the blocking I/O of a persistent or replicated store.
+ *
+ * The comparison is only meaningful on Java 21 or later. The build targets
+ * Java 17, where the virtual mode falls back to the platform pool and both
+ * rows measure the same configuration; run the same classes with a Java 21
+ * {@code java} to compare the modes.
+ *
+ * Run from the test classpath after {@code mvn test-compile}:
+ * {@code java -cp target/test-classes:target/classes:<test classpath> com.springboot.controller_advice.benchmark.ThreadModeLoadTest [clients] [seconds] [store latency ms]}
+ */
+public final class ThreadModeLoadTest {
+
+	private ThreadModeLoadTest() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		int clients = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		Duration duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 10);
+		Duration latency = Duration.ofMillis(args.length > 2 ? Long.parseLong(args[2]) : 20);
+		String latencyProperty = "loadtest.store-latency=" + latency.toMillis() + "ms";
+		Map<String, String[]> modes = new LinkedHashMap<>();
+		modes.put("platform", new String[] { "app.threads.mode=platform", latencyProperty });
+		modes.put("virtual", new String[] { "app.threads.mode=virtual", latencyProperty });
+		List<String> rows = HttpLoad.compare(modes, new Class<?>[] { SlowItemStore.class }, clients, duration);
+		System.out.printf("%d clients, %ds, store latency %dms, Java %s%n", clients, duration.toSeconds(),
+				latency.toMillis(), Runtime.version());
+		if (Runtime.version().feature() < 21) {
+			System.out.println("Virtual threads need Java 21; both modes ran on the platform pool.");
+		}
+		rows.forEach(System.out::println);
+	}
+
+	/**
+	 * Delays every item store call by {@code loadtest.store-latency}.
+	 */
+	static class SlowItemStore {
+
+		@Bean
+		static BeanPostProcessor slowItemStorePostProcessor(@Value("${loadtest.store-latency}") Duration latency) {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					if (!(bean instanceof ItemStore)) {
+						return bean;
+					}
+					return Proxy.newProxyInstance(ItemStore.class.getClassLoader(), new Class<?>[] { ItemStore.class },
+							(proxy, method, methodArgs) -> {
+								LockSupport.parkNanos(latency.toNanos());
+								try {
+									return method.invoke(bean, methodArgs);
+								} catch (InvocationTargetException ex) {
+									throw ex.getCause();
+								}
+							});
+				}
+			};
+		}
+	}
+}
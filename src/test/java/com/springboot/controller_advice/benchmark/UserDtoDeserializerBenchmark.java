@@ -0,0 +1,83 @@
+package com.springboot.controller_advice.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.springboot.controller_advice.dto.UserDto;
+import com.springboot.controller_advice.dto.UserDtoDeserializer;
+import com.springboot.controller_advice.exception.InvalidFieldException;
+
+/**
+ * Reads a {@link UserDto} request body with Jackson's bean deserializer and
+ * with {@link UserDtoDeserializer}. The {@code oversized} payload carries a
+ * 64 KB first name, which the bean deserializer allocates and validation
+ * rejects later. Run with {@code -prof gc} to compare allocation as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class UserDtoDeserializerBenchmark {
+
+	@Param({ "valid", "oversized" })
+	public String payload;
+
+	private ObjectReader bean;
+	private ObjectReader streaming;
+	private byte[] body;
+
+	@Setup
+	public void setUp() {
+		streaming = JsonMapper.builder()
+				.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+				.build()
+				.readerFor(UserDto.class);
+		bean = JsonMapper.builder()
+				.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+				.addMixIn(UserDto.class, BeanDeserialized.class)
+				.build()
+				.readerFor(UserDto.class);
+		String firstName = payload.equals("valid") ? "Alice" : "x".repeat(64 * 1024);
+		body = ("{\"id\":42,\"firstName\":\"" + firstName + "\",\"lastName\":\"Smith\"}")
+				.getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public Object beanDeserializer() throws IOException {
+		return bean.readValue(body);
+	}
+
+	@Benchmark
+	public Object streamingDeserializer() throws IOException {
+		try {
+			return streaming.readValue(body);
+		} catch (InvalidFieldException ex) {
+			return ex;
+		}
+	}
+
+	@JsonDeserialize(using = JsonDeserializer.None.class) // Restores the default bean deserializer.
+	abstract static class BeanDeserialized {
+	}
+
+}
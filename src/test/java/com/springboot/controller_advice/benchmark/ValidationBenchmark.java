@@ -0,0 +1,87 @@
+package com.springboot.controller_advice.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import com.springboot.controller_advice.dto.UserDto;
+import com.springboot.controller_advice.exception.InvalidFieldException;
+import com.springboot.controller_advice.validation.CompiledValidator;
+
+/**
+ * Validates a {@link UserDto} the way Spring MVC does for a {@code @Valid}
+ * request body: with the standard Bean Validation adapter, with the compiled
+ * validator, and with the compiled validator in fail-fast mode. Each call
+ * starts from a fresh binding result, as each request does. Run with
+ * {@code -prof gc} to compare allocation per request as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ValidationBenchmark {
+
+	@Param({ "valid", "invalid" })
+	public String payload;
+
+	private LocalValidatorFactoryBean factory;
+	private CompiledValidator compiled;
+	private CompiledValidator failFast;
+	private UserDto user;
+
+	@Setup
+	public void setUp() {
+		factory = new LocalValidatorFactoryBean();
+		factory.afterPropertiesSet();
+		compiled = new CompiledValidator(factory, false);
+		failFast = new CompiledValidator(factory, true);
+		user = payload.equals("valid") ? new UserDto(1, "Alice", "Smith") : new UserDto(1, "Al", "Smith");
+	}
+
+	@TearDown
+	public void tearDown() {
+		factory.close();
+	}
+
+	@Benchmark
+	public int standard() {
+		return validate(factory);
+	}
+
+	@Benchmark
+	public int compiled() {
+		return validate(compiled);
+	}
+
+	@Benchmark
+	public int compiledFailFast() {
+		try {
+			return validate(failFast);
+		} catch (InvalidFieldException ex) {
+			return 1;
+		}
+	}
+
+	private int validate(Validator validator) {
+		BeanPropertyBindingResult errors = new BeanPropertyBindingResult(user, "userDto");
+		validator.validate(user, errors);
+		return errors.getErrorCount();
+	}
+
+}
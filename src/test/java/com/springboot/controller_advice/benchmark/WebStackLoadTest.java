@@ -0,0 +1,36 @@
+package com.springboot.controller_advice.benchmark;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares throughput, latency and server thread count of
+ * {@code GET /api/items/{id}} on the servlet stack (Tomcat and
+ * {@code DemoController}) and on the reactive stack (Netty and
+ * {@code ReactiveItemController}), selected with
+ * {@code spring.main.web-application-type}.
+ *
+ * The item store is the in-memory one, which never blocks, so the reactive
+ * stack serves it from the event loop.
+ *
+ * Run from the test classpath after {@code mvn test-compile}:
+ * {@code java -cp target/test-classes:target/classes:<test classpath> com.springboot.controller_advice.benchmark.WebStackLoadTest [clients] [seconds]}
+ */
+public final class WebStackLoadTest {
+
+	private WebStackLoadTest() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		int clients = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		Duration duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 10);
+		Map<String, String[]> stacks = new LinkedHashMap<>();
+		stacks.put("servlet", new String[] { "spring.main.web-application-type=servlet" });
+		stacks.put("reactive", new String[] { "spring.main.web-application-type=reactive" });
+		List<String> rows = HttpLoad.compare(stacks, new Class<?>[0], clients, duration);
+		System.out.printf("%d clients, %ds%n", clients, duration.toSeconds());
+		rows.forEach(System.out::println);
+	}
+}
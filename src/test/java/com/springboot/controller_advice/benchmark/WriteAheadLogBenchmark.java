@@ -0,0 +1,85 @@
+package com.springboot.controller_advice.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.springboot.controller_advice.store.WriteAheadLog;
+
+/**
+ * Write throughput of the write-ahead log for each fsync policy, with 16
+ * writers appending and syncing concurrently (so ALWAYS exercises group commit).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class WriteAheadLogBenchmark {
+
+	@Param({ "ALWAYS", "INTERVAL", "NEVER" })
+	public WriteAheadLog.FsyncPolicy policy;
+
+	private Path directory;
+	private WriteAheadLog log;
+
+	@Setup(Level.Trial)
+	public void open() throws IOException {
+		directory = Files.createTempDirectory("wal-benchmark");
+		log = new WriteAheadLog(directory, policy, Duration.ofMillis(10), new WriteAheadLog.ReplayHandler() {
+			@Override
+			public void put(int id, String value) {
+			}
+
+			@Override
+			public void remove(int id) {
+			}
+		});
+	}
+
+	@TearDown(Level.Trial)
+	public void close() throws IOException {
+		log.close();
+		try (Stream<Path> files = Files.walk(directory)) {
+			for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+				Files.delete(path);
+			}
+		}
+	}
+
+	@Benchmark
+	public void appendAndSync(ThreadIds ids) {
+		log.sync(log.appendPut(ids.next(), "benchmark-value"));
+	}
+
+	@State(Scope.Thread)
+	public static class ThreadIds {
+		private int next;
+
+		int next() {
+			return next++;
+		}
+	}
+
+}
@@ -0,0 +1,81 @@
+package com.springboot.controller_advice.circuit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.springboot.controller_advice.circuit.CircuitBreaker.Admission;
+import com.springboot.controller_advice.circuit.CircuitBreaker.State;
+
+class CircuitBreakerTests {
+
+	private final AtomicLong nanos = new AtomicLong();
+
+	private final CircuitBreaker breaker = new CircuitBreaker("test", 50, 4, Duration.ofSeconds(10),
+			Duration.ofSeconds(5), nanos::get);
+
+	@Test
+	void opensOnceTheFailureRateIsReachedAndProbesAfterTheOpenDuration() {
+		record(false, false, true);
+		assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+		record(true);
+		assertThat(breaker.getState()).isEqualTo(State.OPEN);
+		assertThat(breaker.tryAcquire()).isEqualTo(Admission.REJECTED);
+
+		nanos.addAndGet(Duration.ofSeconds(5).toNanos());
+		assertThat(breaker.tryAcquire()).isEqualTo(Admission.PROBE);
+		assertThat(breaker.tryAcquire()).isEqualTo(Admission.REJECTED);
+		breaker.record(Admission.PROBE, true);
+		assertThat(breaker.getState()).isEqualTo(State.OPEN);
+		assertThat(breaker.tryAcquire()).isEqualTo(Admission.REJECTED);
+
+		nanos.addAndGet(Duration.ofSeconds(5).toNanos());
+		assertThat(breaker.tryAcquire()).isEqualTo(Admission.PROBE);
+		breaker.record(Admission.PROBE, false);
+		assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+		assertThat(breaker.tryAcquire()).isEqualTo(Admission.ADMITTED);
+	}
+
+	@Test
+	void admitsANewProbeWhenTheProbeDoesNotReport() {
+		record(true, true, true, true);
+		nanos.addAndGet(Duration.ofSeconds(5).toNanos());
+		assertThat(breaker.tryAcquire()).isEqualTo(Admission.PROBE); // Never reports, e.g. an aborted request.
+		nanos.addAndGet(Duration.ofSeconds(4).toNanos());
+		assertThat(breaker.tryAcquire()).isEqualTo(Admission.REJECTED);
+		assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+
+		nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+		assertThat(breaker.tryAcquire()).isEqualTo(Admission.PROBE);
+		assertThat(breaker.tryAcquire()).isEqualTo(Admission.REJECTED);
+		breaker.record(Admission.PROBE, false);
+		assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+
+		breaker.record(Admission.PROBE, true); // The first probe reports late.
+		assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+		assertThat(breaker.tryAcquire()).isEqualTo(Admission.ADMITTED);
+	}
+
+	@Test
+	void countsFailuresPerWindow() {
+		record(true, true, true);
+		nanos.addAndGet(Duration.ofSeconds(10).toNanos());
+		record(false, false, false, true);
+		assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+		record(true);
+		assertThat(breaker.getState()).isEqualTo(State.CLOSED); // 2 of 5 failed.
+		record(true);
+		assertThat(breaker.getState()).isEqualTo(State.OPEN); // 3 of 6 failed.
+	}
+
+	private void record(boolean... failures) {
+		for (boolean failed : failures) {
+			assertThat(breaker.tryAcquire()).isEqualTo(Admission.ADMITTED);
+			breaker.record(Admission.ADMITTED, failed);
+		}
+	}
+
+}
@@ -0,0 +1,71 @@
+package com.springboot.controller_advice.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.springboot.controller_advice.dto.ErrorResponse;
+import com.springboot.controller_advice.logging.ErrorAggregator;
+import com.springboot.controller_advice.logging.ErrorAuditLog;
+import com.springboot.controller_advice.time.CoarseClock;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+class GlobalExceptionHandlerTests {
+
+	private final Logger logger = (Logger) LoggerFactory.getLogger(GlobalExceptionHandlerTests.class);
+	private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+	private final GlobalExceptionHandler handler = new GlobalExceptionHandler(
+			new ErrorAggregator(logger, Duration.ofSeconds(10), 100),
+			new StaticListableBeanFactory().getBeanProvider(ErrorAuditLog.class), new CoarseClock());
+
+	@BeforeEach
+	void attachAppender() {
+		appender.start();
+		logger.addAppender(appender);
+	}
+
+	@AfterEach
+	void detachAppender() {
+		logger.detachAppender(appender);
+	}
+
+	@Test
+	void answersServerFaultsWith500AndLogsTheirStackTrace() {
+		UncheckedIOException fault = new UncheckedIOException("Could not write the write-ahead log",
+				new IOException("No space left on device"));
+		ResponseEntity<ErrorResponse> response = handler.handleRuntimeException(fault, new MockHttpServletRequest());
+
+		assertThat(response.getStatusCode().value()).isEqualTo(500);
+		assertThat(appender.list).hasSize(1);
+		assertThat(appender.list.get(0).getLevel()).isEqualTo(Level.ERROR);
+		assertThat(appender.list.get(0).getThrowableProxy()).isNotNull();
+	}
+
+	@Test
+	void answersUnreadableBodiesWith400AndLogsAWarning() {
+		HttpMessageNotReadableException ex = new HttpMessageNotReadableException("JSON parse error",
+				new MockHttpInputMessage(new byte[0]));
+		ResponseEntity<ErrorResponse> response = handler.handleClientInputException(ex, new MockHttpServletRequest());
+
+		assertThat(response.getStatusCode().value()).isEqualTo(400);
+		assertThat(appender.list).hasSize(1);
+		assertThat(appender.list.get(0).getLevel()).isEqualTo(Level.WARN);
+		assertThat(appender.list.get(0).getThrowableProxy()).isNull();
+	}
+}
@@ -0,0 +1,66 @@
+package com.springboot.controller_advice.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MeteredExceptionHandlerExceptionResolverTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@Test
+	void countsHandlerInvocationsAndCacheHits() throws Exception {
+		long handled = handled("GlobalExceptionHandler.handleItemNotFoundException");
+		double hits = registry.counter(MeteredExceptionHandlerExceptionResolver.CACHE_METRIC, "result", "hit").count();
+
+		for (int i = 0; i < 3; i++) {
+			mockMvc.perform(get("/api/items/-1"))
+					.andExpect(status().isNotFound())
+					.andExpect(jsonPath("$.message").value("Item not found"));
+		}
+
+		assertThat(handled("GlobalExceptionHandler.handleItemNotFoundException")).isEqualTo(handled + 3);
+		assertThat(registry.counter(MeteredExceptionHandlerExceptionResolver.CACHE_METRIC, "result", "hit").count())
+				.isGreaterThanOrEqualTo(hits + 2);
+	}
+
+	@Test
+	void tagsTimersWithExceptionTypeRouteAndStatus() throws Exception {
+		mockMvc.perform(get("/api/items").param("limit", "0")).andExpect(status().isBadRequest());
+
+		Timer timer = registry.find(MeteredExceptionHandlerExceptionResolver.HANDLED_METRIC)
+				.tag("handler", "GlobalExceptionHandler.handleInvalidRequestException")
+				.tag("exception", "InvalidRequestException")
+				.tag("uri", "/api/items")
+				.tag("status", "400")
+				.timer();
+		assertThat(timer).isNotNull();
+		assertThat(timer.count()).isPositive();
+		assertThat(timer.takeSnapshot().percentileValues()).isNotEmpty();
+	}
+
+	private long handled(String handler) {
+		return registry.find(MeteredExceptionHandlerExceptionResolver.HANDLED_METRIC)
+				.tag("handler", handler)
+				.timers().stream()
+				.mapToLong(Timer::count)
+				.sum();
+	}
+
+}
@@ -0,0 +1,39 @@
+package com.springboot.controller_advice.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ExecutorService;
+
+import org.apache.coyote.http11.Http11NioProtocol;
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadConfigTests {
+
+	@Test
+	void keepsThePoolInPlatformMode() {
+		Http11NioProtocol protocol = new Http11NioProtocol();
+		new VirtualThreadConfig(new ThreadingProperties()).virtualThreadProtocolHandlerCustomizer().customize(protocol);
+
+		assertThat(protocol.getExecutor()).isNull(); // Tomcat creates its own pool on start.
+	}
+
+	@Test
+	void replacesThePoolWithVirtualThreadsOrKeepsItBeforeJava21() throws Exception {
+		ThreadingProperties properties = new ThreadingProperties();
+		properties.setMode(ThreadingProperties.Mode.VIRTUAL);
+		Http11NioProtocol protocol = new Http11NioProtocol();
+		VirtualThreadConfig config = new VirtualThreadConfig(properties);
+		config.virtualThreadProtocolHandlerCustomizer().customize(protocol);
+
+		if (Runtime.version().feature() < 21) {
+			assertThat(protocol.getExecutor()).isNull();
+			return;
+		}
+		ExecutorService executor = (ExecutorService) protocol.getExecutor();
+		boolean virtual = executor.submit(() -> (Boolean) Thread.class.getMethod("isVirtual")
+				.invoke(Thread.currentThread())).get();
+		assertThat(virtual).isTrue();
+		config.destroy();
+		assertThat(executor.isShutdown()).isTrue();
+	}
+}
@@ -0,0 +1,130 @@
+package com.springboot.controller_advice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.springboot.controller_advice.store.ItemStore;
+
+/**
+ * Hammers the item endpoints from many threads and checks that no write is lost.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class DemoControllerConcurrencyTests {
+
+	private static final int THREADS = 16;
+	private static final int IDS_PER_THREAD = 250;
+	private static final int UPDATES_PER_ID = 4;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ItemStore itemStore;
+
+	@Test
+	void concurrentCreatesAndUpdatesAreNotLost() throws Exception {
+		int baseId = 1_000_000;
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				int firstId = baseId + t * IDS_PER_THREAD;
+				futures.add(pool.submit(() -> {
+					for (int id = firstId; id < firstId + IDS_PER_THREAD; id++) {
+						mockMvc.perform(post("/api/items")
+								.contentType(MediaType.APPLICATION_JSON)
+								.content("{\"id\":" + id + ",\"firstName\":\"item" + id + "\"}"))
+								.andExpect(status().isCreated());
+						for (int u = 1; u <= UPDATES_PER_ID; u++) {
+							mockMvc.perform(put("/api/items/" + id).param("value", "v" + u + "-" + id))
+									.andExpect(status().isOk());
+						}
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		for (int id = baseId; id < baseId + THREADS * IDS_PER_THREAD; id++) {
+			assertThat(itemStore.get(id)).isEqualTo("v" + UPDATES_PER_ID + "-" + id);
+		}
+		mockMvc.perform(get("/api/items/" + baseId))
+				.andExpect(status().isOk())
+				.andExpect(content().string("v" + UPDATES_PER_ID + "-" + baseId));
+	}
+
+	@Test
+	void concurrentDuplicateCreatesAndDeletesSucceedExactlyOnce() throws Exception {
+		int id = 2_000_000;
+		AtomicInteger created = new AtomicInteger();
+		AtomicInteger conflicts = new AtomicInteger();
+		runConcurrently(() -> {
+			int status = mockMvc.perform(post("/api/items")
+					.contentType(MediaType.APPLICATION_JSON)
+					.content("{\"id\":" + id + ",\"firstName\":\"racer\"}"))
+					.andReturn().getResponse().getStatus();
+			(status == 201 ? created : conflicts).incrementAndGet();
+		});
+		assertThat(created).hasValue(1);
+		assertThat(conflicts).hasValue(THREADS - 1);
+
+		AtomicInteger deleted = new AtomicInteger();
+		AtomicInteger notFound = new AtomicInteger();
+		runConcurrently(() -> {
+			int status = mockMvc.perform(delete("/api/items/" + id)).andReturn().getResponse().getStatus();
+			(status == 200 ? deleted : notFound).incrementAndGet();
+		});
+		assertThat(deleted).hasValue(1);
+		assertThat(notFound).hasValue(THREADS - 1);
+	}
+
+	private void runConcurrently(ThrowingRunnable action) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				futures.add(pool.submit(() -> {
+					action.run();
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@FunctionalInterface
+	private interface ThrowingRunnable {
+		void run() throws Exception;
+	}
+
+}
@@ -0,0 +1,180 @@
+package com.springboot.controller_advice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.springboot.controller_advice.dto.ItemDto;
+import com.springboot.controller_advice.dto.ItemPageDto;
+import com.springboot.controller_advice.dto.UserDto;
+import com.springboot.controller_advice.store.ItemStore;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_CLASS) // Starts from an empty item store.
+class DemoControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private ItemStore itemStore;
+
+	@Test
+	void pagesThroughEveryItemExactlyOnce() throws Exception {
+		for (int id = 0; id < 250; id++) {
+			itemStore.put(id, "item-" + id);
+		}
+		Set<Integer> seen = new HashSet<>();
+		String cursor = null;
+		int pages = 0;
+		do {
+			String body = mockMvc.perform(get("/api/items").param("limit", "7").param("cursor", cursor))
+					.andExpect(status().isOk())
+					.andReturn().getResponse().getContentAsString();
+			ItemPageDto page = objectMapper.readValue(body, ItemPageDto.class);
+			assertThat(page.getItems()).hasSizeLessThanOrEqualTo(7);
+			for (ItemDto item : page.getItems()) {
+				assertThat(seen.add(item.getId())).isTrue();
+				assertThat(item.getValue()).isEqualTo("item-" + item.getId());
+			}
+			cursor = page.getNextCursor();
+			pages++;
+		} while (cursor != null);
+		assertThat(seen).hasSize(250);
+		assertThat(pages).isBetween(36, 37);
+	}
+
+	@Test
+	void exportsEveryItemAsNdjson() throws Exception {
+		for (int id = -1_000; id < -400; id++) {
+			itemStore.put(id, "export-" + id); // More than one page of the store.
+		}
+		itemStore.put(-5, "export \"quoted\"");
+		MvcResult started = mockMvc.perform(get("/api/items/export"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		String body = mockMvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType("application/x-ndjson"))
+				.andReturn().getResponse().getContentAsString();
+		String[] lines = body.split("\n");
+		assertThat(lines).hasSize(itemStore.size());
+		assertThat(lines).contains("{\"id\":-5,\"value\":\"export \\\"quoted\\\"\"}");
+		for (String line : lines) {
+			assertThat(objectMapper.readValue(line, ItemDto.class).getValue()).isNotNull();
+		}
+	}
+
+	@Test
+	void rejectsInvalidPageRequests() throws Exception {
+		mockMvc.perform(get("/api/items").param("limit", "0")).andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/items").param("cursor", "not a cursor")).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void writesErrorResponses() throws Exception {
+		mockMvc.perform(get("/api/items").param("limit", "0"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.timestamp").isString())
+				.andExpect(jsonPath("$.status").value(400))
+				.andExpect(jsonPath("$.error").value("Bad Request"))
+				.andExpect(jsonPath("$.message").isString())
+				.andExpect(jsonPath("$.errors").doesNotExist())
+				.andExpect(jsonPath("$.path").value("/api/items"))
+				.andExpect(jsonPath("$.route").value("/api/items"));
+		mockMvc.perform(post("/api/items")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"id\":1,\"firstName\":\"Al\"}"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("Validation Error"))
+				.andExpect(jsonPath("$.errors.firstName").value("size must be between 4 and 15"));
+		mockMvc.perform(post("/api/items")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"id\":-2,\"firstName\":\"" + "x".repeat(1000) + "\"}"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("Validation Error"))
+				.andExpect(jsonPath("$.errors.firstName").value("size must be between 4 and 15"));
+		mockMvc.perform(post("/api/items")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"firstName\":\"NoId\"}"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("Validation Error"))
+				.andExpect(jsonPath("$.errors.id").value("must not be null"));
+	}
+
+	@Test
+	void negotiatesBinaryEncodings() throws Exception {
+		itemStore.put(7, "item-7");
+		ObjectMapper cbor = new CBORMapper();
+		byte[] item = mockMvc.perform(get("/api/items/7").accept(MediaType.APPLICATION_CBOR))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+				.andReturn().getResponse().getContentAsByteArray();
+		assertThat(cbor.readValue(item, ItemDto.class).getValue()).isEqualTo("item-7");
+
+		byte[] error = mockMvc.perform(post("/api/items")
+				.contentType(MediaType.APPLICATION_CBOR)
+				.accept(MediaType.APPLICATION_CBOR)
+				.content(cbor.writeValueAsBytes(new UserDto(7, "Alice", null))))
+				.andExpect(status().isConflict())
+				.andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+				.andReturn().getResponse().getContentAsByteArray();
+		assertThat(cbor.readTree(error).get("error").asText()).isEqualTo("Conflict");
+
+		byte[] missing = mockMvc.perform(get("/api/items/-1").accept("application/x-jackson-smile"))
+				.andExpect(status().isNotFound())
+				.andReturn().getResponse().getContentAsByteArray();
+		assertThat(new SmileMapper().readTree(missing).get("route").asText()).isEqualTo("/api/items/{id}");
+
+		mockMvc.perform(get("/api/items/7"))
+				.andExpect(status().isOk())
+				.andExpect(content().string("item-7"));
+	}
+
+	@Test
+	void mapsDomainExceptionsToStatuses() throws Exception {
+		itemStore.put(7, "item-7");
+		mockMvc.perform(get("/api/items/-1"))
+				.andExpect(status().isNotFound())
+				.andExpect(jsonPath("$.status").value(404))
+				.andExpect(jsonPath("$.message").value("Item not found"))
+				.andExpect(jsonPath("$.path").value("/api/items/-1"))
+				.andExpect(jsonPath("$.route").value("/api/items/{id}"));
+		mockMvc.perform(put("/api/items/-1").param("value", "x"))
+				.andExpect(status().isNotFound());
+		mockMvc.perform(post("/api/items")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"id\":7,\"firstName\":\"Alice\"}"))
+				.andExpect(status().isConflict())
+				.andExpect(jsonPath("$.error").value("Conflict"));
+		mockMvc.perform(get("/api/items").param("cursor", "!!"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value("Invalid cursor"));
+	}
+
+}
@@ -0,0 +1,159 @@
+package com.springboot.controller_advice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.springboot.controller_advice.store.ItemStore;
+
+@SpringBootTest(properties = "app.batch.max-items=1000")
+@AutoConfigureMockMvc
+class ItemBatchControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ItemStore itemStore;
+
+	@Test
+	void createsJsonArrayWithPerItemResults() throws Exception {
+		itemStore.put(3_000_002, "existing");
+		mockMvc.perform(post("/api/items/batch")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("""
+						[{"id":3000001,"firstName":"Alice"},
+						 {"id":3000002,"firstName":"Bobby"},
+						 {"id":3000003,"firstName":"Al"},
+						 {"firstName":"Nobody"},
+						 {"id":3000001,"firstName":"Again"},
+						 {"id":3000004,"firstName":"Bartholomew-Montgomery"},
+						 {"id":3000005,"firstName":"Carol"}]
+						"""))
+				.andExpect(status().isOk())
+				.andExpect(content().json("""
+						[{"index":0,"id":3000001,"status":"created"},
+						 {"index":1,"id":3000002,"status":"conflict"},
+						 {"index":2,"id":3000003,"status":"invalid","message":"firstName: size must be between 4 and 15"},
+						 {"index":3,"status":"invalid","message":"id: must not be null"},
+						 {"index":4,"id":3000001,"status":"conflict"},
+						 {"index":5,"status":"invalid","message":"firstName: size must be between 4 and 15"},
+						 {"index":6,"id":3000005,"status":"created"}]
+						""", true));
+		assertThat(itemStore.get(3_000_001)).isEqualTo("Alice");
+		assertThat(itemStore.get(3_000_003)).isNull();
+		assertThat(itemStore.get(3_000_004)).isNull();
+	}
+
+	@Test
+	void createsNdjsonStreamAndStopsAtMalformedItem() throws Exception {
+		StringBuilder body = new StringBuilder();
+		for (int id = 3_100_000; id < 3_100_600; id++) {
+			body.append("{\"id\":").append(id).append(",\"firstName\":\"item").append(id).append("\"}\n");
+		}
+		body.append("{\"id\":oops}\n{\"id\":3100600,\"firstName\":\"never\"}\n");
+		mockMvc.perform(post("/api/items/batch")
+				.contentType("application/x-ndjson")
+				.content(body.toString()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(601))
+				.andExpect(jsonPath("$[599].status").value("created"))
+				.andExpect(jsonPath("$[600].status").value("invalid"))
+				.andExpect(jsonPath("$[600].message").value("Malformed item"));
+		assertThat(itemStore.get(3_100_599)).isEqualTo("item3100599");
+		assertThat(itemStore.get(3_100_600)).isNull();
+	}
+
+	@Test
+	void updatesExistingItemsOnly() throws Exception {
+		itemStore.put(3_200_001, "old");
+		mockMvc.perform(put("/api/items/batch")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("""
+						[{"id":3200001,"value":"new"},
+						 {"id":3200002,"value":"missing"},
+						 {"id":3200003}]
+						"""))
+				.andExpect(status().isOk())
+				.andExpect(content().json("""
+						[{"index":0,"id":3200001,"status":"updated"},
+						 {"index":1,"id":3200002,"status":"not_found"},
+						 {"index":2,"id":3200003,"status":"invalid","message":"value: must not be null"}]
+						""", true));
+		assertThat(itemStore.get(3_200_001)).isEqualTo("new");
+		assertThat(itemStore.get(3_200_002)).isNull();
+	}
+
+	@Test
+	void deletesIdsWithPerIdResults() throws Exception {
+		itemStore.put(3_300_001, "a");
+		itemStore.put(3_300_002, "b");
+		mockMvc.perform(delete("/api/items/batch")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("[3300001, 3300003, null, 3300002, 3300001]"))
+				.andExpect(status().isOk())
+				.andExpect(content().json("""
+						[{"index":0,"id":3300001,"status":"deleted"},
+						 {"index":1,"id":3300003,"status":"not_found"},
+						 {"index":2,"status":"invalid","message":"Item must not be null"},
+						 {"index":3,"id":3300002,"status":"deleted"},
+						 {"index":4,"id":3300001,"status":"not_found"}]
+						""", true));
+		assertThat(itemStore.get(3_300_001)).isNull();
+		assertThat(itemStore.get(3_300_002)).isNull();
+	}
+
+	@Test
+	void truncatesBatchesOverTheLimit() throws Exception {
+		StringBuilder body = new StringBuilder();
+		for (int id = 3_400_000; id < 3_401_001; id++) {
+			body.append("{\"id\":").append(id).append(",\"firstName\":\"item").append(id).append("\"}\n");
+		}
+		mockMvc.perform(post("/api/items/batch")
+				.contentType("application/x-ndjson")
+				.content(body.toString()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(1001))
+				.andExpect(jsonPath("$[999].status").value("created"))
+				.andExpect(jsonPath("$[1000].status").value("truncated"))
+				.andExpect(jsonPath("$[1000].message").value("A batch may contain at most 1000 items; the rest was not processed"));
+		assertThat(itemStore.get(3_400_000)).isEqualTo("item3400000");
+		assertThat(itemStore.get(3_400_999)).isEqualTo("item3400999");
+		assertThat(itemStore.get(3_401_000)).isNull();
+	}
+
+	@Nested
+	@TestPropertySource(properties = { "app.validation.mode=compiled", "app.validation.fail-fast=true" })
+	class CompiledFailFastValidation {
+
+		@Test
+		void validatesItemsLikeSingleCreates() throws Exception {
+			mockMvc.perform(post("/api/items/batch")
+					.contentType(MediaType.APPLICATION_JSON)
+					.content("""
+							[{"id":3500001,"firstName":"Al"},
+							 {"id":3500002,"firstName":"Alice"}]
+							"""))
+					.andExpect(status().isOk())
+					.andExpect(content().json("""
+							[{"index":0,"id":3500001,"status":"invalid","message":"firstName: size must be between 4 and 15"},
+							 {"index":1,"id":3500002,"status":"created"}]
+							""", true));
+			assertThat(itemStore.get(3_500_001)).isNull();
+		}
+	}
+
+}
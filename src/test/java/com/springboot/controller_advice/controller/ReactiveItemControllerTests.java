@@ -0,0 +1,113 @@
+package com.springboot.controller_advice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.BodyInserters;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.springboot.controller_advice.dto.ItemDto;
+import com.springboot.controller_advice.store.ItemStore;
+
+@SpringBootTest(properties = "spring.main.web-application-type=reactive")
+@AutoConfigureWebTestClient
+class ReactiveItemControllerTests {
+
+	@Autowired
+	private WebTestClient client;
+
+	@Autowired
+	private ItemStore itemStore;
+
+	@Test
+	void createsUpdatesAndDeletesLikeTheServletController() {
+		int id = 5_000_000;
+		client.post().uri("/api/items").contentType(MediaType.APPLICATION_JSON)
+				.bodyValue("{\"id\":" + id + ",\"firstName\":\"first\"}")
+				.exchange()
+				.expectStatus().isCreated()
+				.expectBody(String.class).isEqualTo("Item created successfully");
+		client.post().uri("/api/items").contentType(MediaType.APPLICATION_JSON)
+				.bodyValue("{\"id\":" + id + ",\"firstName\":\"first\"}")
+				.exchange()
+				.expectStatus().isEqualTo(409)
+				.expectBody().jsonPath("$.error").isEqualTo("Conflict");
+
+		client.put().uri("/api/items/{id}?value=second", id).exchange().expectStatus().isOk();
+		client.put().uri("/api/items/{id}", id).contentType(MediaType.APPLICATION_FORM_URLENCODED)
+				.body(BodyInserters.fromFormData("value", "third"))
+				.exchange()
+				.expectStatus().isOk();
+		client.get().uri("/api/items/{id}", id).exchange()
+				.expectStatus().isOk()
+				.expectBody(String.class).isEqualTo("third");
+
+		client.delete().uri("/api/items/{id}", id).exchange().expectStatus().isOk();
+		client.get().uri("/api/items/{id}", id).exchange()
+				.expectStatus().isNotFound()
+				.expectBody()
+				.jsonPath("$.status").isEqualTo(404)
+				.jsonPath("$.error").isEqualTo("Not Found")
+				.jsonPath("$.path").isEqualTo("/api/items/" + id)
+				.jsonPath("$.route").isEqualTo("/api/items/{id}");
+	}
+
+	@Test
+	void mapsInvalidInputToTheServletErrorResponses() {
+		client.post().uri("/api/items").contentType(MediaType.APPLICATION_JSON)
+				.bodyValue("{\"id\":5000001,\"firstName\":\"ab\"}")
+				.exchange()
+				.expectStatus().isBadRequest()
+				.expectBody()
+				.jsonPath("$.error").isEqualTo("Validation Error")
+				.jsonPath("$.errors.firstName").isEqualTo("size must be between 4 and 15");
+		client.post().uri("/api/items").contentType(MediaType.APPLICATION_JSON)
+				.bodyValue("{\"id\":5000001,\"firstName\":\"" + "x".repeat(64) + "\"}")
+				.exchange()
+				.expectStatus().isBadRequest()
+				.expectBody().jsonPath("$.errors.firstName").isEqualTo("size must be between 4 and 15");
+		client.post().uri("/api/items").contentType(MediaType.APPLICATION_JSON)
+				.bodyValue("{\"firstName\":\"NoId\"}")
+				.exchange()
+				.expectStatus().isBadRequest()
+				.expectBody().jsonPath("$.errors.id").isEqualTo("must not be null");
+		client.get().uri("/api/items?limit=0").exchange()
+				.expectStatus().isBadRequest()
+				.expectBody().jsonPath("$.message").isEqualTo("limit must be between 1 and 1000");
+		client.get().uri("/api/items/not-a-number").exchange().expectStatus().isBadRequest();
+		client.post().uri("/api/items").contentType(MediaType.TEXT_PLAIN).bodyValue("text")
+				.exchange()
+				.expectStatus().isEqualTo(415);
+	}
+
+	@Test
+	void listsExportsAndEncodesItems() throws Exception {
+		for (int id = 5_000_100; id < 5_000_400; id++) {
+			itemStore.put(id, "item-" + id);
+		}
+		client.get().uri("/api/items?limit=5").exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.items.length()").isEqualTo(5)
+				.jsonPath("$.nextCursor").isNotEmpty();
+
+		String export = client.get().uri("/api/items/export").exchange()
+				.expectStatus().isOk()
+				.expectHeader().contentTypeCompatibleWith("application/x-ndjson")
+				.expectBody(String.class).returnResult().getResponseBody();
+		assertThat(export.lines().filter(line -> line.startsWith("{\"id\":5000")))
+				.hasSize(300)
+				.contains("{\"id\":5000100,\"value\":\"item-5000100\"}");
+
+		byte[] cbor = client.get().uri("/api/items/5000100").accept(MediaType.APPLICATION_CBOR).exchange()
+				.expectStatus().isOk()
+				.expectBody(byte[].class).returnResult().getResponseBody();
+		ItemDto item = new CBORMapper().readValue(cbor, ItemDto.class);
+		assertThat(item.getValue()).isEqualTo("item-5000100");
+	}
+}
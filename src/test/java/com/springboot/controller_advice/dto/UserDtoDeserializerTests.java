@@ -0,0 +1,48 @@
+package com.springboot.controller_advice.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.springboot.controller_advice.exception.InvalidFieldException;
+
+class UserDtoDeserializerTests {
+
+	private final ObjectMapper mapper = JsonMapper.builder()
+			.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+			.build();
+
+	@Test
+	void readsFieldsLikeTheBeanDeserializer() throws Exception {
+		UserDto user = mapper.readValue("""
+				{"extra":{"nested":[1,2]},"id":"12","firstName":"Alice","lastName":null}
+				""", UserDto.class);
+		assertThat(user.getId()).isEqualTo(12);
+		assertThat(user.getFirstName()).isEqualTo("Alice");
+		assertThat(user.getLastName()).isNull();
+
+		UserDto empty = mapper.readValue("{}", UserDto.class);
+		assertThat(empty.getId()).isNull();
+		assertThat(empty.getFirstName()).isNull();
+
+		assertThatThrownBy(() -> mapper.readValue("[1]", UserDto.class))
+				.isInstanceOf(MismatchedInputException.class);
+		assertThatThrownBy(() -> mapper.readValue("{\"id\":{}}", UserDto.class))
+				.isInstanceOf(MismatchedInputException.class);
+	}
+
+	@Test
+	void rejectsStringsLongerThanTheSizeLimitWhileParsing() {
+		assertThatThrownBy(() -> mapper.readValue("{\"id\":1,\"firstName\":\"" + "x".repeat(16) + "\"}", UserDto.class))
+				.isInstanceOfSatisfying(InvalidFieldException.class, ex -> {
+					assertThat(ex.getField()).isEqualTo("firstName");
+					assertThat(ex.getMessage()).isEqualTo("size must be between 4 and 15");
+				});
+	}
+
+}
@@ -0,0 +1,100 @@
+package com.springboot.controller_advice.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+class ErrorAggregatorTests {
+
+	private final Logger logger = (Logger) LoggerFactory.getLogger(ErrorAggregatorTests.class);
+	private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+	@BeforeEach
+	void attachAppender() {
+		appender.start();
+		logger.addAppender(appender);
+	}
+
+	@AfterEach
+	void detachAppender() {
+		logger.detachAppender(appender);
+	}
+
+	@Test
+	void logsFirstOccurrenceAndSummarizesConcurrentRepeats() throws Exception {
+		ErrorAggregator aggregator = new ErrorAggregator(logger, Duration.ofSeconds(10), 100);
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			Thread thread = new Thread(() -> {
+				for (int i = 0; i < 1_000; i++) {
+					aggregator.record(failure(i));
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		aggregator.flush();
+
+		assertThat(appender.list).hasSize(2);
+		assertThat(appender.list.get(0).getThrowableProxy()).isNotNull();
+		assertThat(appender.list.get(0).getFormattedMessage()).startsWith("IllegalStateException: Item # is broken");
+		assertThat(appender.list.get(1).getFormattedMessage()).contains("occurred 7999 more times");
+	}
+
+	@Test
+	void forgetsErrorsThatStopRepeating() {
+		ErrorAggregator aggregator = new ErrorAggregator(logger, Duration.ofSeconds(10), 100);
+		aggregator.record(failure(1));
+		aggregator.flush(); // No repeats: forgotten.
+		aggregator.record(failure(2));
+
+		assertThat(appender.list).hasSize(2);
+		assertThat(appender.list).allMatch(event -> event.getThrowableProxy() != null);
+	}
+
+	@Test
+	void countsErrorsBeyondTheFingerprintLimit() {
+		ErrorAggregator aggregator = new ErrorAggregator(logger, Duration.ofSeconds(10), 1);
+		aggregator.record(failure(1));
+		aggregator.record(new IllegalArgumentException("other"));
+		aggregator.record(new IllegalArgumentException("other"));
+		aggregator.flush();
+
+		assertThat(appender.list).hasSize(2);
+		assertThat(appender.list.get(1).getFormattedMessage()).startsWith("2 errors were not logged");
+	}
+
+	@Test
+	void logsClientErrorsAsWarningsWithoutStackTrace() {
+		ErrorAggregator aggregator = new ErrorAggregator(logger, Duration.ofSeconds(10), 100);
+		for (int i = 0; i < 2; i++) {
+			aggregator.recordClientError(new IllegalArgumentException("Unreadable body"));
+		}
+		aggregator.flush();
+
+		assertThat(appender.list).hasSize(2);
+		assertThat(appender.list.get(0).getLevel()).isEqualTo(Level.WARN);
+		assertThat(appender.list.get(0).getThrowableProxy()).isNull();
+		assertThat(appender.list.get(1).getFormattedMessage()).contains("occurred 1 more times");
+	}
+
+	private static IllegalStateException failure(int id) {
+		return new IllegalStateException("Item " + id + " is broken");
+	}
+
+}
@@ -0,0 +1,100 @@
+package com.springboot.controller_advice.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.controller_advice.time.CoarseClock;
+
+class ErrorAuditLogTests {
+
+	private static final CoarseClock CLOCK = new CoarseClock();
+
+	@TempDir
+	Path directory;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void writesEveryEventWhenBlocking() throws Exception {
+		Path file = directory.resolve("errors.ndjson");
+		try (ErrorAuditLog auditLog = new ErrorAuditLog(file, 16, ErrorAuditLog.OverflowPolicy.BLOCK, CLOCK)) {
+			publishConcurrently(auditLog, 4, 2_000);
+		}
+
+		List<String> lines = Files.readAllLines(file);
+		assertThat(lines).hasSize(8_000);
+		JsonNode first = objectMapper.readTree(lines.get(0));
+		assertThat(first.get("status").asInt()).isEqualTo(404);
+		assertThat(first.get("exception").asText()).isEqualTo("ItemNotFoundException");
+		assertThat(first.get("path").asText()).isEqualTo("/api/items/7");
+		assertThat(first.get("route").asText()).isEqualTo("/api/items/{id}");
+	}
+
+	@Test
+	void accountsForDroppedEvents() throws Exception {
+		Path file = directory.resolve("errors.ndjson");
+		long dropped;
+		try (ErrorAuditLog auditLog = new ErrorAuditLog(file, 1, ErrorAuditLog.OverflowPolicy.DROP, CLOCK)) {
+			publishConcurrently(auditLog, 4, 20_000);
+			dropped = auditLog.droppedCount();
+		}
+
+		long written = 0;
+		long reportedDrops = 0;
+		for (String line : Files.readAllLines(file)) {
+			JsonNode node = objectMapper.readTree(line);
+			if (node.has("dropped")) {
+				reportedDrops += node.get("dropped").asLong();
+			} else {
+				written++;
+			}
+		}
+		assertThat(reportedDrops).isEqualTo(dropped);
+		assertThat(written + reportedDrops).isEqualTo(80_000);
+	}
+
+	@Test
+	void wakesTheIdleWriterForEachEvent() throws Exception {
+		Path file = directory.resolve("errors.ndjson");
+		try (ErrorAuditLog auditLog = new ErrorAuditLog(file, 16, ErrorAuditLog.OverflowPolicy.DROP, CLOCK)) {
+			for (int i = 1; i <= 3; i++) {
+				Thread.sleep(50); // Lets the writer drain the buffer and park.
+				auditLog.publish(new ErrorEvent(CLOCK.now(), 404, "Not Found",
+						"ItemNotFoundException", "Item not found", "/api/items/" + i, "/api/items/{id}"));
+				long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+				while (Files.readAllLines(file).size() < i && System.nanoTime() < deadline) {
+					Thread.sleep(1);
+				}
+				assertThat(Files.readAllLines(file)).hasSize(i);
+			}
+		}
+	}
+
+	private static void publishConcurrently(ErrorAuditLog auditLog, int threads, int perThread) throws Exception {
+		List<Thread> publishers = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			Thread thread = new Thread(() -> {
+				for (int i = 0; i < perThread; i++) {
+					auditLog.publish(new ErrorEvent(CLOCK.now(), 404, "Not Found",
+							"ItemNotFoundException", "Item not found", "/api/items/7", "/api/items/{id}"));
+				}
+			});
+			thread.start();
+			publishers.add(thread);
+		}
+		for (Thread publisher : publishers) {
+			publisher.join();
+		}
+	}
+
+}
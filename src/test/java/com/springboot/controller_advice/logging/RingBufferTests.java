@@ -0,0 +1,71 @@
+package com.springboot.controller_advice.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class RingBufferTests {
+
+	@Test
+	void rejectsOffersWhenFullUntilDrained() {
+		RingBuffer<Integer> buffer = new RingBuffer<>(3);
+		assertThat(buffer.capacity()).isEqualTo(4);
+		for (int i = 0; i < 4; i++) {
+			assertThat(buffer.offer(i)).isTrue();
+		}
+		assertThat(buffer.offer(4)).isFalse();
+
+		List<Integer> drained = new ArrayList<>();
+		assertThat(buffer.drain(drained::add, 2)).isEqualTo(2);
+		assertThat(buffer.offer(4)).isTrue();
+		assertThat(buffer.drain(drained::add, 10)).isEqualTo(3);
+		assertThat(drained).containsExactly(0, 1, 2, 3, 4);
+	}
+
+	@Test
+	void deliversEveryElementOfConcurrentProducersInOrder() throws Exception {
+		RingBuffer<long[]> buffer = new RingBuffer<>(64);
+		int producers = 4;
+		int perProducer = 10_000;
+		List<Thread> threads = new ArrayList<>();
+		for (int p = 0; p < producers; p++) {
+			long producer = p;
+			Thread thread = new Thread(() -> {
+				for (long i = 0; i < perProducer; i++) {
+					long[] element = { producer, i };
+					while (!buffer.offer(element)) {
+						Thread.yield(); // Lets the consumer run when there are fewer cores than threads.
+					}
+				}
+			});
+			thread.setDaemon(true); // Cannot keep the JVM alive if the test times out.
+			thread.start();
+			threads.add(thread);
+		}
+
+		long[] next = new long[producers];
+		assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+			long received = 0;
+			while (received < (long) producers * perProducer) {
+				int drained = buffer.drain(element -> {
+					assertThat(element[1]).isEqualTo(next[(int) element[0]]);
+					next[(int) element[0]]++;
+				}, 256);
+				if (drained == 0) {
+					Thread.yield();
+				}
+				received += drained;
+			}
+			for (Thread thread : threads) {
+				thread.join();
+			}
+		});
+		assertThat(next).containsOnly(perProducer);
+	}
+
+}
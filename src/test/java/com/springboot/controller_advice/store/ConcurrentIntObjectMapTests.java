@@ -0,0 +1,106 @@
+package com.springboot.controller_advice.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNullPointerException;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+class ConcurrentIntObjectMapTests {
+
+	@Test
+	void matchesHashMapUnderRandomOperations() {
+		ConcurrentIntObjectMap<String> map = new ConcurrentIntObjectMap<>(4);
+		Map<Integer, String> reference = new HashMap<>();
+		Random random = new Random(42);
+		for (int i = 0; i < 200_000; i++) {
+			int key = random.nextInt(5_000) - 2_500;
+			String value = "v" + i;
+			switch (random.nextInt(5)) {
+				case 0 -> assertThat(map.put(key, value)).isEqualTo(reference.put(key, value));
+				case 1 -> assertThat(map.putIfAbsent(key, value)).isEqualTo(reference.putIfAbsent(key, value));
+				case 2 -> assertThat(map.replace(key, value)).isEqualTo(reference.replace(key, value));
+				case 3 -> assertThat(map.remove(key)).isEqualTo(reference.remove(key));
+				default -> assertThat(map.get(key)).isEqualTo(reference.get(key));
+			}
+		}
+		assertThat(map.size()).isEqualTo(reference.size());
+		reference.forEach((key, value) -> assertThat(map.get(key)).isEqualTo(value));
+	}
+
+	@Test
+	void optimisticReadsNeverReturnAnotherKeysValueOrMissAStableKey() {
+		// One segment, so every write invalidates every reader's stamp and removals shift the stable keys' slots.
+		ConcurrentIntObjectMap<Integer> map = new ConcurrentIntObjectMap<>(1);
+		int stableKeys = 1_000;
+		int churnKeys = 1_000;
+		for (int key = 0; key < stableKeys; key++) {
+			map.put(key, key); // Each value is its own key, so a value read for another key is detected.
+		}
+		AtomicBoolean writing = new AtomicBoolean(true);
+		AtomicReference<String> failure = new AtomicReference<>();
+		List<Thread> threads = new ArrayList<>();
+		for (int w = 0; w < 2; w++) {
+			threads.add(new Thread(() -> {
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				for (int i = 0; i < 200_000; i++) {
+					int key = stableKeys + random.nextInt(churnKeys);
+					if (random.nextBoolean()) {
+						map.put(key, key);
+					} else {
+						map.remove(key);
+					}
+				}
+			}));
+		}
+		for (int r = 0; r < 2; r++) {
+			threads.add(new Thread(() -> {
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				do {
+					for (int i = 0; i < 1_000; i++) {
+						int key = random.nextInt(stableKeys + churnKeys);
+						Integer value = map.get(key);
+						if (key < stableKeys ? value == null : value != null && value != key) {
+							failure.compareAndSet(null, "get(" + key + ") returned " + value);
+						}
+					}
+				} while (writing.get() && failure.get() == null);
+			}));
+		}
+		threads.forEach(thread -> {
+			thread.setDaemon(true); // Cannot keep the JVM alive if the test times out.
+			thread.start();
+		});
+
+		assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+			for (Thread writer : threads.subList(0, 2)) {
+				writer.join();
+			}
+			writing.set(false);
+			for (Thread reader : threads.subList(2, 4)) {
+				reader.join();
+			}
+		});
+		assertThat(failure.get()).isNull();
+		for (int key = 0; key < stableKeys; key++) {
+			assertThat(map.get(key)).isEqualTo(key);
+		}
+	}
+
+	@Test
+	void rejectsNullValues() {
+		ConcurrentIntObjectMap<String> map = new ConcurrentIntObjectMap<>();
+		assertThatNullPointerException().isThrownBy(() -> map.put(1, null));
+	}
+
+}
@@ -0,0 +1,163 @@
+package com.springboot.controller_advice.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.springboot.controller_advice.store.WriteAheadLog.FsyncPolicy;
+
+class DurableItemStoreTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void replaysConcurrentWritesAfterRestart() throws Exception {
+		try (DurableItemStore store = open()) {
+			List<Thread> writers = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				int firstId = t * 1_000;
+				writers.add(startThread(() -> {
+					for (int id = firstId; id < firstId + 1_000; id++) {
+						store.putIfAbsent(id, "item-" + id);
+						store.replace(id, "updated-" + id);
+					}
+				}));
+			}
+			for (Thread writer : writers) {
+				writer.join();
+			}
+			assertThat(store.remove(42)).isEqualTo("updated-42");
+		}
+
+		try (DurableItemStore store = open()) {
+			assertThat(store.size()).isEqualTo(7_999);
+			assertThat(store.get(42)).isNull();
+			assertThat(store.get(7_999)).isEqualTo("updated-7999");
+		}
+	}
+
+	@Test
+	void replaysBatchReplaceAndRemove() throws Exception {
+		try (DurableItemStore store = open()) {
+			store.putIfAbsentAll(new int[] { 1, 2, 3 }, new String[] { "one", "two", "three" }, 3);
+			assertThat(store.replaceAll(new int[] { 1, 4 }, new String[] { "uno", "four" }, 2))
+					.containsExactly(true, false);
+			assertThat(store.removeAll(new int[] { 2, 5 }, 2)).containsExactly(true, false);
+		}
+
+		try (DurableItemStore store = open()) {
+			assertThat(store.size()).isEqualTo(2);
+			assertThat(store.get(1)).isEqualTo("uno");
+			assertThat(store.get(2)).isNull();
+			assertThat(store.get(4)).isNull();
+		}
+	}
+
+	@Test
+	void truncatesTornTailAndKeepsAppending() throws Exception {
+		try (DurableItemStore store = open()) {
+			store.put(1, "one");
+			store.put(2, "two");
+		}
+		Path segment;
+		try (Stream<Path> files = Files.list(directory)) {
+			segment = files.findFirst().orElseThrow();
+		}
+		Files.write(segment, new byte[] { 0, 0, 0, 40, 1, 2, 3 }, StandardOpenOption.APPEND);
+
+		try (DurableItemStore store = open()) {
+			assertThat(store.get(1)).isEqualTo("one");
+			assertThat(store.get(2)).isEqualTo("two");
+			store.put(3, "three");
+		}
+		try (DurableItemStore store = open()) {
+			assertThat(store.size()).isEqualTo(3);
+			assertThat(store.get(3)).isEqualTo("three");
+		}
+	}
+
+	@Test
+	void checkpointWhileWritingKeepsStateAndTruncatesLog() throws Exception {
+		try (DurableItemStore store = open()) {
+			for (int id = 0; id < 5_000; id++) {
+				store.put(id, "before-" + id);
+			}
+			Thread writer = startThread(() -> {
+				for (int id = 0; id < 5_000; id++) {
+					if (id % 2 == 0) {
+						store.replace(id, "during-" + id);
+					} else {
+						store.remove(id);
+					}
+				}
+			});
+			store.checkpoint();
+			writer.join();
+			store.put(10_000, "after");
+			store.checkpoint();
+			store.remove(0);
+		}
+		try (Stream<Path> files = Files.list(directory)) {
+			assertThat(files.map(path -> path.getFileName().toString()))
+					.containsExactlyInAnyOrder("00000000000000000003.wal", "00000000000000000003.snapshot");
+		}
+
+		try (DurableItemStore store = open()) {
+			assertThat(store.size()).isEqualTo(2_500);
+			assertThat(store.get(0)).isNull();
+			assertThat(store.get(1)).isNull();
+			assertThat(store.get(2)).isEqualTo("during-2");
+			assertThat(store.get(10_000)).isEqualTo("after");
+		}
+	}
+
+	@Test
+	void revertsChangesWhoseRecordCannotBeAppended() throws Exception {
+		ConcurrentItemStore items = new ConcurrentItemStore();
+		DurableItemStore store = new DurableItemStore(items, directory, FsyncPolicy.ALWAYS, Duration.ofMillis(10));
+		store.put(1, "one");
+		store.put(2, "two");
+		store.close(); // Every append now fails.
+
+		assertThatIllegalStateException().isThrownBy(() -> store.put(1, "uno"));
+		assertThatIllegalStateException().isThrownBy(() -> store.put(3, "three"));
+		assertThatIllegalStateException().isThrownBy(() -> store.putIfAbsent(4, "four"));
+		assertThatIllegalStateException().isThrownBy(() -> store.replace(2, "dos"));
+		assertThatIllegalStateException().isThrownBy(() -> store.remove(1));
+		assertThatIllegalStateException()
+				.isThrownBy(() -> store.putIfAbsentAll(new int[] { 5 }, new String[] { "five" }, 1));
+		assertThatIllegalStateException()
+				.isThrownBy(() -> store.replaceAll(new int[] { 1 }, new String[] { "uno" }, 1));
+		assertThatIllegalStateException().isThrownBy(() -> store.removeAll(new int[] { 2 }, 1));
+
+		assertThat(items.size()).isEqualTo(2);
+		assertThat(items.get(1)).isEqualTo("one");
+		assertThat(items.get(2)).isEqualTo("two");
+		try (DurableItemStore reopened = open()) {
+			assertThat(reopened.size()).isEqualTo(2);
+			assertThat(reopened.get(1)).isEqualTo("one");
+		}
+	}
+
+	private static Thread startThread(Runnable task) {
+		Thread thread = new Thread(task);
+		thread.start();
+		return thread;
+	}
+
+	private DurableItemStore open() {
+		return new DurableItemStore(new ConcurrentItemStore(), directory, FsyncPolicy.ALWAYS, Duration.ofMillis(10));
+	}
+
+}
@@ -0,0 +1,74 @@
+package com.springboot.controller_advice.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class OffHeapItemStoreTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void reopensItemsWrittenBeforeClose() throws Exception {
+		Path file = directory.resolve("items.dat");
+		try (OffHeapItemStore store = new OffHeapItemStore(file, 64)) {
+			for (int id = 0; id < 100; id++) {
+				assertThat(store.putIfAbsent(id, "item-" + id)).isTrue();
+			}
+			assertThat(store.putIfAbsent(1, "duplicate")).isFalse();
+			assertThat(store.replace(2, "zwei-ü")).isTrue();
+			assertThat(store.replace(1_000, "missing")).isFalse();
+			assertThat(store.remove(3)).isEqualTo("item-3");
+			assertThat(store.remove(3)).isNull();
+		}
+
+		try (OffHeapItemStore store = new OffHeapItemStore(file, 1024)) {
+			assertThat(store.size()).isEqualTo(99);
+			assertThat(store.get(1)).isEqualTo("item-1");
+			assertThat(store.get(2)).isEqualTo("zwei-ü");
+			assertThat(store.get(3)).isNull();
+			assertThat(store.get(99)).isEqualTo("item-99");
+			store.put(100, "after-reopen");
+			assertThat(store.get(100)).isEqualTo("after-reopen");
+		}
+	}
+
+	@Test
+	void skipsHolesAndCorruptRecordsWhenReopening() throws Exception {
+		Path file = directory.resolve("items.dat");
+		try (OffHeapItemStore store = new OffHeapItemStore(file, 1024)) {
+			for (int id = 1; id <= 6; id++) {
+				store.put(id, "item-" + id); // 24 bytes per record, starting at offset 16.
+			}
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.allocate(24), 16 + 24); // Item 2 was reserved but never written.
+			channel.write(ByteBuffer.allocate(4).putInt(0, Integer.MAX_VALUE), 16 + 2 * 24 + 4); // Item 3's length.
+			channel.write(ByteBuffer.allocate(4).putInt(0, -100), 16 + 4 * 24 + 4); // Item 5's length.
+		}
+
+		try (OffHeapItemStore store = new OffHeapItemStore(file, 1024)) {
+			assertThat(store.size()).isEqualTo(3);
+			assertThat(store.get(1)).isEqualTo("item-1");
+			assertThat(store.get(2)).isNull();
+			assertThat(store.get(3)).isNull();
+			assertThat(store.get(4)).isEqualTo("item-4");
+			assertThat(store.get(5)).isNull();
+			assertThat(store.get(6)).isEqualTo("item-6");
+			store.put(7, "item-7");
+		}
+		try (OffHeapItemStore store = new OffHeapItemStore(file, 1024)) {
+			assertThat(store.size()).isEqualTo(4);
+			assertThat(store.get(6)).isEqualTo("item-6");
+			assertThat(store.get(7)).isEqualTo("item-7");
+		}
+	}
+
+}
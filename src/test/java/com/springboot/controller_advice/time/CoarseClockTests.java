@@ -0,0 +1,57 @@
+package com.springboot.controller_advice.time;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import org.junit.jupiter.api.Test;
+
+class CoarseClockTests {
+
+	@Test
+	void formatsOncePerMillisecondInTheClockZone() {
+		MutableClock source = new MutableClock(Instant.parse("2024-05-01T10:34:56.780Z").toEpochMilli());
+		CoarseClock clock = new CoarseClock(source);
+
+		CoarseClock.Timestamp first = clock.now();
+		assertThat(first.toString()).isEqualTo("2024-05-01T12:34:56.780");
+		assertThat(clock.now()).isSameAs(first);
+
+		source.millis++;
+		CoarseClock.Timestamp next = clock.now();
+		assertThat(next).isNotSameAs(first);
+		assertThat(next.getEpochMillis()).isEqualTo(first.getEpochMillis() + 1);
+		assertThat(next.toString()).isEqualTo("2024-05-01T12:34:56.781");
+	}
+
+	private static final class MutableClock extends Clock {
+		long millis;
+
+		MutableClock(long millis) {
+			this.millis = millis;
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneId.of("Europe/Berlin");
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public long millis() {
+			return millis;
+		}
+
+		@Override
+		public Instant instant() {
+			return Instant.ofEpochMilli(millis);
+		}
+	}
+
+}
@@ -0,0 +1,99 @@
+package com.springboot.controller_advice.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import com.springboot.controller_advice.dto.UserDto;
+import com.springboot.controller_advice.exception.InvalidFieldException;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+class CompiledValidatorTests {
+
+	private static LocalValidatorFactoryBean factory;
+
+	@BeforeAll
+	static void createFactory() {
+		factory = new LocalValidatorFactoryBean();
+		factory.afterPropertiesSet();
+	}
+
+	@AfterAll
+	static void closeFactory() {
+		factory.close();
+	}
+
+	@Test
+	void reportsTheSameErrorsAsTheStandardValidator() {
+		CompiledValidator compiled = new CompiledValidator(factory, false);
+		for (Object target : List.of(new UserDto(1, "Alice", null), new UserDto(1, "Al", null),
+				new UserDto(1, null, null), new Order(null, List.of(), 12), new Order("a", List.of("x"), 3))) {
+			assertThat(errors(compiled, target)).isEqualTo(errors(factory, target));
+		}
+	}
+
+	@Test
+	void throwsTheFirstViolationInFailFastMode() {
+		CompiledValidator compiled = new CompiledValidator(factory, true);
+		BeanPropertyBindingResult errors = new BeanPropertyBindingResult(new UserDto(1, "Al", null), "user");
+
+		assertThatThrownBy(() -> compiled.validate(errors.getTarget(), errors))
+				.isInstanceOfSatisfying(InvalidFieldException.class, ex -> {
+					assertThat(ex.getField()).isEqualTo("firstName");
+					assertThat(ex.getMessage()).isEqualTo("size must be between 4 and 15");
+				});
+		assertThat(errors.hasErrors()).isFalse();
+		assertThatThrownBy(() -> compiled.validate(new Order("a", List.of("x"), 11), errors))
+				.isInstanceOfSatisfying(InvalidFieldException.class, ex -> assertThat(ex.getField()).isEqualTo("name"));
+	}
+
+	@Test
+	void fallsBackToTheStandardValidatorForOtherConstraints() {
+		CompiledValidator compiled = new CompiledValidator(factory, true);
+		Contact invalid = new Contact("not an address");
+
+		assertThat(errors(compiled, invalid)).isEqualTo(errors(factory, invalid)).hasSize(1);
+	}
+
+	private static List<String> errors(org.springframework.validation.Validator validator, Object target) {
+		BeanPropertyBindingResult errors = new BeanPropertyBindingResult(target, "target");
+		validator.validate(target, errors);
+		return errors.getFieldErrors().stream()
+				.map(error -> error.getField() + ": " + error.getDefaultMessage())
+				.sorted()
+				.toList();
+	}
+
+	@Getter
+	@AllArgsConstructor
+	static class Order {
+		@NotNull
+		@Size(min = 2, max = 8)
+		private String name;
+		@Size(min = 1)
+		private List<String> lines;
+		@Max(10)
+		private int quantity;
+	}
+
+	@Getter
+	@AllArgsConstructor
+	static class Contact {
+		@Email
+		private String address;
+	}
+
+}